@@ -3,7 +3,11 @@ package com.sportsms.analytics;
 import com.sportsms.subscription.RiskItem;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -17,57 +21,60 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/analytics")
 public class AnalyticsController {
+    private static final long MINUTES_PER_WEEK = 7 * 24 * 60;
+
     private final EntityManager entityManager;
+    private final AnalyticsQueryExecutor queryExecutor;
 
-    public AnalyticsController(EntityManager entityManager) {
+    public AnalyticsController(EntityManager entityManager, AnalyticsQueryExecutor queryExecutor) {
         this.entityManager = entityManager;
+        this.queryExecutor = queryExecutor;
     }
 
     @GetMapping("/subscriptions")
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public List<Map<String, Object>> subscriptions() {
         return subscriptionsRevenue(null, null).stream()
-                .map(item -> Map.of("month", item.month(), "revenue", item.revenue()))
+                .map(item -> Map.<String, Object>of("month", item.month(), "revenue", item.revenue()))
                 .toList();
     }
 
     @GetMapping("/subscriptions/summary")
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public SubscriptionSummaryResponse subscriptionSummary() {
-        BigDecimal revenueThisMonth = (BigDecimal) entityManager.createNativeQuery(
-                "select coalesce(sum(amount),0) from payments where status='PAID' and date_trunc('month', paid_at)=date_trunc('month', now())")
-                .getSingleResult();
+        AnalyticsQueryExecutor.Fanout fanout = queryExecutor.fanout();
+        var revenueThisMonth = fanout.submit("revenueThisMonth", () -> (BigDecimal) entityManager.createNativeQuery(
+                "select coalesce(sum(amount),0) from payment_monthly_rollup where month = cast(date_trunc('month', now()) as date)")
+                .getSingleResult());
 
-        long active = countWhere("subscriptions", "status='ACTIVE'");
-        long expired = countWhere("subscriptions", "status='EXPIRED'");
-        long pendingPayments = countWhere("payments", "status='PENDING'");
+        var active = fanout.submit("activeSubscriptions", () -> countWhere("subscriptions", "status='ACTIVE'"));
+        var expired = fanout.submit("expiredSubscriptions", () -> countWhere("subscriptions", "status='EXPIRED'"));
+        var pendingPayments = fanout.submit("pendingPayments", () -> countWhere("payments", "status='PENDING'"));
 
-        List<TypeCount> byType = entityManager.createNativeQuery("select lower(subscriber_type), count(*) from subscriptions group by 1")
+        var byType = fanout.submit("byType", () -> entityManager.createNativeQuery("select lower(subscriber_type), count(*) from subscriptions group by 1")
                 .getResultList().stream()
                 .map(row -> {
                     Object[] value = (Object[]) row;
                     return new TypeCount(String.valueOf(value[0]), ((Number) value[1]).longValue());
-                }).toList();
+                }).toList());
 
-        List<StatusCount> statusMix = entityManager.createNativeQuery("select status, count(*) from subscriptions group by 1")
+        var statusMix = fanout.submit("statusMix", () -> entityManager.createNativeQuery("select status, count(*) from subscriptions group by 1")
                 .getResultList().stream().map(row -> {
                     Object[] value = (Object[]) row;
                     return new StatusCount(String.valueOf(value[0]), ((Number) value[1]).longValue());
-                }).toList();
+                }).toList());
 
-        List<TopClubPayment> topPayingClubs = entityManager.createNativeQuery(
-                        "select coalesce(c.name, 'Unknown Club') as club, coalesce(sum(p.amount),0) as total " +
-                                "from payments p " +
-                                "join subscriptions s on s.id = p.subscription_id " +
-                                "left join clubs c on c.id = s.subscriber_id " +
-                                "where p.status='PAID' " +
+        var topPayingClubs = fanout.submit("topPayingClubs", () -> entityManager.createNativeQuery(
+                        "select coalesce(c.name, 'Unknown Club') as club, coalesce(sum(r.amount),0) as total " +
+                                "from payment_monthly_rollup r " +
+                                "left join clubs c on c.id = r.subscriber_id " +
                                 "group by c.name order by total desc limit 5")
                 .getResultList().stream().map(row -> {
                     Object[] value = (Object[]) row;
                     return new TopClubPayment(String.valueOf(value[0]), new BigDecimal(value[1].toString()));
-                }).toList();
+                }).toList());
 
-        List<RiskItem> highRisk = entityManager.createNativeQuery(
+        var highRisk = fanout.submit("highRisk", () -> entityManager.createNativeQuery(
                         "select id, greatest(0, date_part('day', current_date - end_date)) as overdue " +
                                 "from subscriptions where end_date < current_date order by overdue desc limit 10")
                 .getResultList().stream().map(row -> {
@@ -75,9 +82,18 @@ public class AnalyticsController {
                     long overdue = ((Number) value[1]).longValue();
                     int score = (int) Math.min(100, overdue * 5);
                     return new RiskItem(UUID.fromString(value[0].toString()), score, overdue);
-                }).toList();
-
-        return new SubscriptionSummaryResponse(revenueThisMonth, active, expired, pendingPayments, byType, statusMix, topPayingClubs, highRisk);
+                }).toList());
+
+        return new SubscriptionSummaryResponse(
+                fanout.join(revenueThisMonth, BigDecimal.ZERO),
+                fanout.join(active, 0L),
+                fanout.join(expired, 0L),
+                fanout.join(pendingPayments, 0L),
+                fanout.join(byType, List.of()),
+                fanout.join(statusMix, List.of()),
+                fanout.join(topPayingClubs, List.of()),
+                fanout.join(highRisk, List.of()),
+                fanout.failed());
     }
 
     @GetMapping("/subscriptions/revenue")
@@ -89,10 +105,10 @@ public class AnalyticsController {
         LocalDate rangeTo = to != null ? to : LocalDate.now().plusDays(1);
 
         return entityManager.createNativeQuery(
-                        "select to_char(date_trunc('month', paid_at), 'YYYY-MM') as month, coalesce(sum(amount),0) " +
-                                "from payments where status='PAID' and paid_at between :from and :to group by 1 order by 1")
-                .setParameter("from", rangeFrom.atStartOfDay())
-                .setParameter("to", rangeTo.atStartOfDay())
+                        "select to_char(month, 'YYYY-MM') as month, coalesce(sum(amount),0) " +
+                                "from payment_monthly_rollup where month between :from and :to group by 1 order by 1")
+                .setParameter("from", rangeFrom.withDayOfMonth(1))
+                .setParameter("to", rangeTo)
                 .getResultList().stream().map(row -> {
                     Object[] value = (Object[]) row;
                     return new MonthRevenue(String.valueOf(value[0]), new BigDecimal(value[1].toString()));
@@ -111,10 +127,56 @@ public class AnalyticsController {
                 }).toList();
     }
 
+    /**
+     * Weekly utilization per facility from facility_weekly_rollup. Weeks are Monday-based in UTC and
+     * utilization is booked time over the whole week, since facilities carry no opening hours.
+     */
+    @GetMapping("/facilities")
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+    public List<FacilityWeekUtilization> facilities(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "facilityId", required = false) UUID facilityId) {
+        LocalDate thisWeek = LocalDate.now(ZoneOffset.UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate rangeFrom = from != null ? from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : thisWeek.minusWeeks(7);
+        LocalDate rangeTo = to != null ? to : thisWeek.plusWeeks(4);
+
+        var query = entityManager.createNativeQuery(
+                        "select r.week, r.facility_id, f.name, r.booked_minutes, r.approved_minutes, r.bookings, r.projected_revenue " +
+                                "from facility_weekly_rollup r join facilities f on f.id = r.facility_id " +
+                                "where r.week between :from and :to" + (facilityId != null ? " and r.facility_id = :facilityId" : "") +
+                                " order by r.week, f.name")
+                .setParameter("from", rangeFrom)
+                .setParameter("to", rangeTo);
+        if (facilityId != null) {
+            query.setParameter("facilityId", facilityId);
+        }
+        return ((List<?>) query.getResultList()).stream().map(row -> {
+            Object[] value = (Object[]) row;
+            long bookedMinutes = ((Number) value[3]).longValue();
+            return new FacilityWeekUtilization(
+                    LocalDate.parse(value[0].toString()),
+                    UUID.fromString(value[1].toString()),
+                    String.valueOf(value[2]),
+                    hours(bookedMinutes),
+                    hours(((Number) value[4]).longValue()),
+                    BigDecimal.valueOf(bookedMinutes * 100).divide(BigDecimal.valueOf(MINUTES_PER_WEEK), 1, RoundingMode.HALF_UP),
+                    ((Number) value[5]).intValue(),
+                    new BigDecimal(value[6].toString()));
+        }).toList();
+    }
+
+    private static BigDecimal hours(long minutes) {
+        return BigDecimal.valueOf(minutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+    }
+
     private long countWhere(String table, String where) {
         return ((Number) entityManager.createNativeQuery("select count(*) from " + table + " where " + where).getSingleResult()).longValue();
     }
 
+    public record FacilityWeekUtilization(LocalDate week, UUID facilityId, String facility, BigDecimal bookedHours,
+                                          BigDecimal approvedHours, BigDecimal utilizationPercent, int bookings,
+                                          BigDecimal projectedRevenue) {}
     public record MonthRevenue(String month, BigDecimal revenue) {}
     public record ExpiringSubscription(UUID subscriptionId, String status, LocalDate endDate) {}
     public record TypeCount(String type, long count) {}
@@ -127,5 +189,6 @@ public class AnalyticsController {
                                               List<TypeCount> byType,
                                               List<StatusCount> statusMix,
                                               List<TopClubPayment> topPayingClubs,
-                                              List<RiskItem> highRisk) {}
+                                              List<RiskItem> highRisk,
+                                              List<String> failedWidgets) {}
 }
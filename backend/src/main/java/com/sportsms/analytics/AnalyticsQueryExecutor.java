@@ -0,0 +1,136 @@
+package com.sportsms.analytics;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs independent analytics queries concurrently on a small bounded pool, each in its own
+ * read-only transaction, so a page of widgets costs as long as its slowest query. The pool should
+ * be at least as large as the widest page (the subscription summary has eight widgets); a smaller
+ * pool queues widgets and the page takes several rounds of queries.
+ *
+ * <p>Each widget has its own timeout, counted from when its query starts rather than from the
+ * fan-out, so a widget that queued behind a busy pool still gets its full budget.
+ */
+@Component
+public class AnalyticsQueryExecutor {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsQueryExecutor.class);
+
+    private final ExecutorService executor;
+    private final PlatformTransactionManager transactionManager;
+    private final long timeoutMillis;
+
+    public AnalyticsQueryExecutor(PlatformTransactionManager transactionManager,
+                                  @Value("${app.analytics.query-threads:8}") int threads,
+                                  @Value("${app.analytics.query-timeout-ms:5000}") long timeoutMillis) {
+        this.transactionManager = transactionManager;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "analytics-query-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public Fanout fanout() {
+        return new Fanout();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Fanout {
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+
+        private Fanout() {
+        }
+
+        public <T> Widget<T> submit(String name, Supplier<T> query) {
+            return submit(name, timeoutMillis, query);
+        }
+
+        public <T> Widget<T> submit(String name, long timeoutMillis, Supplier<T> query) {
+            // The same limit goes on the transaction so the database cancels the statement too.
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+            AtomicLong startedAt = new AtomicLong();
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                return new Widget<>(name, executor.submit(() -> {
+                    startedAt.set(System.nanoTime());
+                    return transaction.execute(status -> query.get());
+                }), startedAt, timeoutNanos);
+            } catch (RuntimeException ex) {
+                log.warn("Analytics widget {} was not scheduled: {}", name, ex.getMessage());
+                return new Widget<>(name, null, startedAt, timeoutNanos);
+            }
+        }
+
+        /**
+         * Waits for the widget until its own timeout has passed since its query started. A widget still
+         * queued gets one timeout to start. A widget that fails or runs out of time is reported in
+         * {@link #failed()} and answered with {@code fallback}.
+         */
+        public <T> T join(Widget<T> widget, T fallback) {
+            if (widget.future() == null) {
+                failed.add(widget.name());
+                return fallback;
+            }
+            try {
+                while (true) {
+                    long started = widget.startedAt().get();
+                    long wait = started == 0 ? widget.timeoutNanos()
+                            : started + widget.timeoutNanos() - System.nanoTime();
+                    try {
+                        return widget.future().get(Math.max(0, wait), TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException ex) {
+                        if (started == 0 && widget.startedAt().get() != 0) {
+                            continue;
+                        }
+                        widget.future().cancel(true);
+                        log.warn("Analytics widget {} timed out", widget.name());
+                        break;
+                    }
+                }
+            } catch (ExecutionException ex) {
+                log.warn("Analytics widget {} failed: {}", widget.name(), ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                widget.future().cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            failed.add(widget.name());
+            return fallback;
+        }
+
+        public List<String> failed() {
+            return List.copyOf(failed);
+        }
+    }
+
+    public record Widget<T>(String name, Future<T> future, AtomicLong startedAt, long timeoutNanos) {}
+}
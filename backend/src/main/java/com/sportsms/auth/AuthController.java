@@ -1,6 +1,8 @@
 package com.sportsms.auth;
 
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,19 +16,24 @@ import org.springframework.http.HttpStatus;
 @RequestMapping("/api/auth")
 public class AuthController {
     private final AuthService authService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, PasswordHashingExecutor passwordHashingExecutor,
+                          RefreshTokenService refreshTokenService) {
         this.authService = authService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
-    public AuthDto.AuthResponse register(@Valid @RequestBody AuthDto.RegisterRequest request) {
-        return authService.register(request);
+    public CompletableFuture<AuthDto.AuthResponse> register(@Valid @RequestBody AuthDto.RegisterRequest request) {
+        return passwordHashingExecutor.submit(() -> authService.register(request));
     }
 
     @PostMapping("/login")
-    public AuthDto.AuthResponse login(@Valid @RequestBody AuthDto.LoginRequest request) {
-        return authService.login(request);
+    public CompletableFuture<AuthDto.AuthResponse> login(@Valid @RequestBody AuthDto.LoginRequest request) {
+        return passwordHashingExecutor.submit(() -> authService.login(request));
     }
 
     @PostMapping("/refresh")
@@ -39,6 +46,18 @@ public class AuthController {
         authService.logout(request);
     }
 
+    @GetMapping("/refresh-tokens/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public RefreshTokenService.PurgeResult lastRefreshTokenPurge() {
+        return refreshTokenService.lastPurge();
+    }
+
+    @PostMapping("/refresh-tokens/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public RefreshTokenService.PurgeResult purgeRefreshTokens() {
+        return refreshTokenService.purge();
+    }
+
     @GetMapping("/me")
     public AuthProfileResponse me(Authentication authentication) {
         if (authentication == null || authentication.getName() == null || authentication.getName().isBlank()) {
@@ -4,13 +4,9 @@ import com.sportsms.common.NotFoundException;
 import com.sportsms.user.Role;
 import com.sportsms.user.User;
 import com.sportsms.user.UserRepository;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,27 +23,24 @@ public class AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final long refreshExpirationMinutes;
     private final Environment environment;
 
     public AuthService(UserRepository userRepository,
-                       RefreshTokenRepository refreshTokenRepository,
+                       RefreshTokenService refreshTokenService,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
                        AuthenticationManager authenticationManager,
-                       Environment environment,
-                       @Value("${app.jwt.refresh-expiration-minutes}") long refreshExpirationMinutes) {
+                       Environment environment) {
         this.userRepository = userRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenService = refreshTokenService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.environment = environment;
-        this.refreshExpirationMinutes = refreshExpirationMinutes;
     }
 
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
@@ -65,12 +58,9 @@ public class AuthService {
 
     public AuthDto.AuthResponse login(AuthDto.LoginRequest request) {
         if (isDevProfileActive()) {
-            userRepository.findByEmail(request.email()).ifPresentOrElse(user -> {
-                boolean passwordMatches = passwordEncoder.matches(request.password(), user.getPassword());
-                log.debug("Login diagnostic for {}: userFound=true, encoder={}, passwordMatches={}, accountNonLocked=true, accountEnabled=true, accountNonExpired=true, credentialsNonExpired=true",
-                        request.email(), passwordEncoder.getClass().getSimpleName(), passwordMatches);
-            }, () -> log.debug("Login diagnostic for {}: userFound=false, encoder={}",
-                    request.email(), passwordEncoder.getClass().getSimpleName()));
+            // The password itself is checked once, by the authentication manager below.
+            log.debug("Login diagnostic for {}: userFound={}, encoder={}", request.email(),
+                    userRepository.existsByEmail(request.email()), passwordEncoder.getClass().getSimpleName());
         }
 
         Authentication authentication = authenticationManager.authenticate(
@@ -98,19 +88,12 @@ public class AuthService {
     }
 
     public AuthDto.AuthResponse refresh(AuthDto.RefreshRequest request) {
-        RefreshToken token = refreshTokenRepository.findByToken(request.refreshToken())
-                .orElseThrow(() -> new NotFoundException("Refresh token not found"));
-        if (token.isRevoked() || token.getExpiresAt().isBefore(Instant.now())) {
-            throw new IllegalArgumentException("Refresh token expired or revoked");
-        }
-        return issueTokens(token.getUser());
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+        return tokens(rotation.user(), rotation.refreshToken());
     }
 
     public void logout(AuthDto.RefreshRequest request) {
-        RefreshToken token = refreshTokenRepository.findByToken(request.refreshToken())
-                .orElseThrow(() -> new NotFoundException("Refresh token not found"));
-        token.setRevoked(true);
-        refreshTokenRepository.save(token);
+        refreshTokenService.revoke(request.refreshToken());
     }
 
     public AuthProfileResponse getProfile(String email) {
@@ -121,13 +104,12 @@ public class AuthService {
     }
 
     private AuthDto.AuthResponse issueTokens(User user) {
+        return tokens(user, refreshTokenService.issue(user));
+    }
+
+    private AuthDto.AuthResponse tokens(User user, String refreshToken) {
         Set<String> roles = user.getRoles().stream().map(Role::name).collect(Collectors.toSet());
         String accessToken = jwtService.generateToken(user.getEmail(), roles.stream().toList());
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshToken.setExpiresAt(Instant.now().plus(refreshExpirationMinutes, ChronoUnit.MINUTES));
-        refreshTokenRepository.save(refreshToken);
-        return new AuthDto.AuthResponse(accessToken, refreshToken.getToken(), roles);
+        return new AuthDto.AuthResponse(accessToken, refreshToken, roles);
     }
 }
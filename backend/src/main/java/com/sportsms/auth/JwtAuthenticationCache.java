@@ -0,0 +1,86 @@
+package com.sportsms.auth;
+
+import com.sportsms.common.BoundedLruMap;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by a SHA-256 of the token,
+ * so repeat requests skip parsing and HMAC verification. Entries never outlive the token's {@code exp}.
+ */
+@Component
+public class JwtAuthenticationCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    });
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<ByteBuffer, VerifiedToken> entries;
+
+    @Autowired
+    public JwtAuthenticationCache(@Value("${app.jwt.cache.max-entries:10000}") int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    JwtAuthenticationCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.entries = new BoundedLruMap<>(maxEntries);
+    }
+
+    public VerifiedToken get(String token) {
+        ByteBuffer key = key(token);
+        synchronized (entries) {
+            VerifiedToken verified = entries.get(key);
+            if (verified == null) {
+                return null;
+            }
+            if (!clock.instant().isBefore(verified.expiresAt())) {
+                entries.remove(key);
+                return null;
+            }
+            return verified;
+        }
+    }
+
+    public VerifiedToken put(String token, String subject, Collection<? extends GrantedAuthority> authorities,
+                             Instant expiresAt) {
+        VerifiedToken verified = new VerifiedToken(subject, List.copyOf(authorities), expiresAt);
+        if (expiresAt == null || maxEntries <= 0) {
+            return verified;
+        }
+        ByteBuffer key = key(token);
+        synchronized (entries) {
+            entries.put(key, verified);
+        }
+        return verified;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static ByteBuffer key(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public record VerifiedToken(String subject, List<GrantedAuthority> authorities, Instant expiresAt) {}
+}
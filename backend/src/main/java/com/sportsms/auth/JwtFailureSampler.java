@@ -0,0 +1,56 @@
+package com.sportsms.auth;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts JWT authentication failures by reason and emits one structured summary line per interval,
+ * instead of a log line for every rejected request. The summary comes from a scheduled tick, so the
+ * last failures before a quiet period are reported too.
+ */
+@Component
+class JwtFailureSampler {
+    private static final Logger log = LoggerFactory.getLogger(JwtFailureSampler.class);
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final AtomicReference<Sample> lastSample = new AtomicReference<>();
+
+    void record(Exception failure, String path) {
+        String reason = failure.getClass().getSimpleName();
+        counts.computeIfAbsent(reason, key -> new LongAdder()).increment();
+        lastSample.set(new Sample(reason, path));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.filter.failure-log-interval-ms:60000}")
+    void flush() {
+        Map<String, Long> summary = drain();
+        Sample sample = lastSample.getAndSet(null);
+        // record() counts before it stores its sample, so a failure racing this tick can be counted
+        // here without a sample; its counts are still reported rather than dropped.
+        if (!summary.isEmpty()) {
+            log.warn("event=jwt_auth_failure sample_reason={} sample_path={} counts_since_last={}",
+                    sample != null ? sample.reason() : "-", sample != null ? sample.path() : "-", summary);
+        }
+    }
+
+    /** Failure counts by reason since the previous call, resetting them. */
+    Map<String, Long> drain() {
+        Map<String, Long> summary = new TreeMap<>();
+        counts.forEach((key, count) -> {
+            long value = count.sumThenReset();
+            if (value > 0) {
+                summary.put(key, value);
+            }
+        });
+        return summary;
+    }
+
+    private record Sample(String reason, String path) {}
+}
@@ -1,6 +1,7 @@
 package com.sportsms.auth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,11 +19,13 @@ public class JwtService {
     private static final SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS256;
 
     private final Key key;
+    private final JwtParser parser;
     private final long expirationMinutes;
 
     public JwtService(@Value("${app.jwt.secret}") String secret,
                       @Value("${app.jwt.expiration-minutes}") long expirationMinutes) {
         this.key = Keys.hmacShaKeyFor(hashSecret(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.expirationMinutes = expirationMinutes;
     }
 
@@ -44,7 +47,7 @@ public class JwtService {
         if (token == null || token.isBlank()) {
             throw new IllegalArgumentException("JWT token must not be blank");
         }
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private static byte[] hashSecret(String secret) {
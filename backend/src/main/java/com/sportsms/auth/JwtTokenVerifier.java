@@ -0,0 +1,76 @@
+package com.sportsms.auth;
+
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a bearer token into an authentication, through {@link JwtAuthenticationCache} first. Shared by the
+ * HTTP filter and the STOMP CONNECT interceptor, since browsers cannot put headers on a WebSocket handshake.
+ */
+@Component
+public class JwtTokenVerifier {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final JwtAuthenticationCache authenticationCache;
+
+    public JwtTokenVerifier(JwtService jwtService, JwtAuthenticationCache authenticationCache) {
+        this.jwtService = jwtService;
+        this.authenticationCache = authenticationCache;
+    }
+
+    /** The token in an {@code Authorization} header value, or {@code null} when there is no usable one. */
+    public static String bearerToken(String header) {
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length());
+        if (token.isBlank() || "null".equalsIgnoreCase(token) || "undefined".equalsIgnoreCase(token)) {
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Verifies the token and returns its authentication, or {@code null} when it names no subject.
+     * Throws the parser's exception when the token is invalid or expired.
+     */
+    public UsernamePasswordAuthenticationToken authenticate(String token) {
+        JwtAuthenticationCache.VerifiedToken verified = authenticationCache.get(token);
+        if (verified == null) {
+            verified = verify(token);
+        }
+        if (verified.subject() == null || verified.subject().isBlank()) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(verified.subject(), null, verified.authorities());
+    }
+
+    private JwtAuthenticationCache.VerifiedToken verify(String token) {
+        Claims claims = jwtService.parseToken(token);
+        List<SimpleGrantedAuthority> authorities = extractRoles(claims.get("roles"))
+                .filter(role -> !role.isBlank())
+                .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return authenticationCache.put(token, claims.getSubject(), authorities, expiresAt);
+    }
+
+    private Stream<String> extractRoles(Object roleClaims) {
+        if (roleClaims instanceof Collection<?> collection) {
+            return collection.stream().filter(Objects::nonNull).map(Object::toString);
+        }
+        if (roleClaims instanceof String role) {
+            return Stream.of(role);
+        }
+        return Stream.empty();
+    }
+}
@@ -1,9 +1,35 @@
 package com.sportsms.auth;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Conditional so that two concurrent refreshes with the same token cannot both rotate it.
+    @Transactional
+    @Modifying
+    @Query(value = "update refresh_tokens set revoked = true, revoked_at = :now where id = :id and not revoked",
+            nativeQuery = true)
+    int revokeIfActive(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update refresh_tokens set revoked = true, revoked_at = :now where family_id = :familyId and not revoked",
+            nativeQuery = true)
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    // Each chunk is its own short transaction; skip locked keeps the purge off rows a refresh is rotating.
+    @Transactional
+    @Query(value = "with purged as (delete from refresh_tokens where id in (" +
+            "select id from refresh_tokens where expires_at < :now or revoked_at < :revokedBefore " +
+            "limit :chunkSize for update skip locked) returning 1) select count(*) from purged", nativeQuery = true)
+    long purgeChunk(@Param("now") Instant now, @Param("revokedBefore") Instant revokedBefore,
+                    @Param("chunkSize") int chunkSize);
 }
@@ -0,0 +1,132 @@
+package com.sportsms.auth;
+
+import com.sportsms.common.NotFoundException;
+import com.sportsms.user.User;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues, rotates and purges refresh tokens. Only a SHA-256 hash of each token is stored. Every
+ * login starts a token family; a refresh revokes the presented token and issues its successor in
+ * the same family, and presenting an already rotated token revokes the whole family.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMinutes;
+    private final Duration revokedRetention;
+    private final int purgeChunkSize;
+    private volatile PurgeResult lastPurge;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${app.jwt.refresh-expiration-minutes}") long refreshExpirationMinutes,
+                               @Value("${app.jwt.refresh-purge.revoked-retention-minutes:1440}") long revokedRetentionMinutes,
+                               @Value("${app.jwt.refresh-purge.chunk-size:1000}") int purgeChunkSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMinutes = refreshExpirationMinutes;
+        this.revokedRetention = Duration.ofMinutes(revokedRetentionMinutes);
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    public String issue(User user) {
+        return save(user, UUID.randomUUID());
+    }
+
+    // Not transactional on purpose: a family revoked on reuse must stay revoked when we throw.
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new NotFoundException("Refresh token not found"));
+        Instant now = Instant.now();
+        if (!current.isRevoked() && current.getExpiresAt().isBefore(now)) {
+            throw new IllegalArgumentException("Refresh token expired or revoked");
+        }
+        if (current.isRevoked() || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected: family={}, userId={}, revoked={}",
+                    current.getFamilyId(), current.getUser().getId(), revoked);
+            throw new IllegalArgumentException("Refresh token expired or revoked");
+        }
+        return new Rotation(current.getUser(), save(current.getUser(), current.getFamilyId()));
+    }
+
+    public void revoke(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new NotFoundException("Refresh token not found"));
+        refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge.interval-ms:3600000}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    public PurgeResult purge() {
+        long started = System.nanoTime();
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(revokedRetention);
+        long deleted = 0;
+        int chunks = 0;
+        long chunk;
+        do {
+            chunk = refreshTokenRepository.purgeChunk(now, revokedBefore, purgeChunkSize);
+            deleted += chunk;
+            chunks++;
+        } while (chunk == purgeChunkSize);
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        PurgeResult result = new PurgeResult(now, deleted, chunks, durationMillis,
+                deleted * 1000 / Math.max(1, durationMillis), refreshTokenRepository.count());
+        lastPurge = result;
+        log.info("Refresh token purge: deleted={}, chunks={}, durationMs={}, rowsPerSecond={}, remaining={}",
+                deleted, chunks, durationMillis, result.rowsPerSecond(), result.remaining());
+        return result;
+    }
+
+    public PurgeResult lastPurge() {
+        return lastPurge;
+    }
+
+    private String save(User user, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant now = Instant.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(refreshExpirationMinutes, ChronoUnit.MINUTES));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public record Rotation(User user, String refreshToken) {}
+
+    public record PurgeResult(Instant ranAt, long deleted, int chunks, long durationMillis, long rowsPerSecond,
+                              long remaining) {}
+}
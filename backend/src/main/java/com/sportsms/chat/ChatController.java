@@ -1,22 +1,47 @@
 package com.sportsms.chat;
 
+import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/chat")
 public class ChatController {
+    private final ChatService chatService;
+
+    public ChatController(ChatService chatService) {
+        this.chatService = chatService;
+    }
+
     @GetMapping("/rooms") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')")
-    public List<Map<String, String>> rooms() { return List.of(Map.of("id", UUID.randomUUID().toString(), "name", "League-wide room")); }
+    public List<ChatDto.RoomResponse> rooms(Principal principal) { return chatService.rooms(principal); }
+
+    @PostMapping("/rooms") @PreAuthorize("hasAnyRole('ADMIN','MANAGER')") @ResponseStatus(HttpStatus.CREATED)
+    public ChatDto.RoomResponse createRoom(Principal principal, @RequestBody ChatDto.RoomRequest request) {
+        return chatService.createRoom(principal, request);
+    }
 
     @GetMapping("/rooms/{roomId}/messages") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')")
-    public List<Map<String, String>> messages(@PathVariable UUID roomId) { return List.of(Map.of("roomId", roomId.toString(), "content", "Chat persistence scaffolded")); }
+    public ChatDto.MessagePage messages(Principal principal, @PathVariable UUID roomId,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
+        return chatService.history(principal, roomId, cursor, limit);
+    }
 
+    // 202: the message is queued for the write-behind writer and already broadcast, but not yet stored.
     @PostMapping("/rooms/{roomId}/messages") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')")
-    public Map<String, String> send(@PathVariable UUID roomId, @RequestBody Map<String, String> payload) { return Map.of("status", "saved", "roomId", roomId.toString(), "content", payload.getOrDefault("content", "")); }
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ChatDto.MessageResponse send(Principal principal, @PathVariable UUID roomId,
+                                        @RequestBody ChatDto.SendMessageRequest request) {
+        return chatService.send(principal, roomId, request.content());
+    }
+
+    @GetMapping("/stats") @PreAuthorize("hasRole('ADMIN')")
+    public ChatDto.WriterStats stats() { return chatService.writerStats(); }
 
     @GetMapping("/ai/summarize") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')")
     public Map<String, String> summarize() { return Map.of("summary", "AI not configured"); }
@@ -0,0 +1,19 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.KeysetCursor;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/** Position in a room's history ordered newest first by (sent at, id), encoded as a {@link KeysetCursor}. */
+public record ChatCursor(OffsetDateTime sentAt, UUID id) {
+
+    public static ChatCursor decode(String cursor) {
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        return new ChatCursor(keyset.at().atOffset(ZoneOffset.UTC), keyset.id());
+    }
+
+    public String encode() {
+        return new KeysetCursor(sentAt.toInstant(), id).encode();
+    }
+}
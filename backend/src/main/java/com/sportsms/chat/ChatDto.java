@@ -0,0 +1,22 @@
+package com.sportsms.chat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class ChatDto {
+    public record RoomRequest(ChatRoomType type, UUID leagueId, UUID clubId, List<UUID> participantIds) {}
+
+    public record RoomResponse(UUID id, ChatRoomType type, UUID leagueId, UUID clubId, OffsetDateTime createdAt) {}
+
+    public record SendMessageRequest(String content) {}
+
+    public record MessageResponse(UUID id, UUID roomId, UUID senderId, String senderName, String content,
+                                  OffsetDateTime sentAt) {}
+
+    public record MessagePage(List<MessageResponse> items, String nextCursor) {}
+
+    public record WriterStats(long accepted, long rejected, long persisted, long failed, long batches,
+                              double averageBatchSize, int queueDepth, int queueCapacity,
+                              double persistedPerSecond, int windowSeconds) {}
+}
@@ -0,0 +1,77 @@
+package com.sportsms.chat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A chat line. Ids and timestamps are assigned when the message is accepted, before it is
+ * broadcast, so the copy clients receive over STOMP matches the row written later by
+ * {@link ChatMessageWriter}.
+ */
+@Entity
+@Table(name = "chat_messages")
+public class ChatMessage {
+    @Id
+    private UUID id;
+
+    @Column(name = "room_id", nullable = false)
+    private UUID roomId;
+
+    @Column(name = "sender_user_id", nullable = false)
+    private UUID senderUserId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String content;
+
+    @Column(name = "sent_at", nullable = false)
+    private OffsetDateTime sentAt;
+
+    @Column(name = "edited_at")
+    private OffsetDateTime editedAt;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    protected ChatMessage() {
+    }
+
+    public ChatMessage(UUID id, UUID roomId, UUID senderUserId, String content, OffsetDateTime sentAt) {
+        this.id = id;
+        this.roomId = roomId;
+        this.senderUserId = senderUserId;
+        this.content = content;
+        this.sentAt = sentAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getRoomId() {
+        return roomId;
+    }
+
+    public UUID getSenderUserId() {
+        return senderUserId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public OffsetDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public OffsetDateTime getEditedAt() {
+        return editedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sportsms.chat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID> {
+    // Newest first by (sent_at, id), served by idx_chat_messages_room_sent_id.
+    @Query(value = "select m.id, m.room_id, m.sender_user_id, u.full_name, m.content, m.sent_at " +
+            "from chat_messages m join users u on u.id = m.sender_user_id " +
+            "where m.room_id = :roomId and m.deleted = false " +
+            "and (cast(:beforeSentAt as timestamptz) is null or (m.sent_at, m.id) < (cast(:beforeSentAt as timestamptz), cast(:beforeId as uuid))) " +
+            "order by m.sent_at desc, m.id desc limit :limit", nativeQuery = true)
+    List<Object[]> findPage(@Param("roomId") UUID roomId, @Param("beforeSentAt") OffsetDateTime beforeSentAt,
+                            @Param("beforeId") UUID beforeId, @Param("limit") int limit);
+}
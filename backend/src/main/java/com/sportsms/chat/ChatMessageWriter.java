@@ -0,0 +1,178 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.ThroughputWindow;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind persistence for chat messages. Accepted messages wait in a bounded queue and a
+ * single writer thread inserts them in batches: a batch commits once it holds {@code batchSize}
+ * messages or {@code flushIntervalMillis} after its first message, whichever comes first. When
+ * the queue is full {@link #offer} waits briefly and then refuses, which callers surface as 503.
+ */
+@Component
+public class ChatMessageWriter {
+    static final int WINDOW_SECONDS = 60;
+
+    private static final Logger log = LoggerFactory.getLogger(ChatMessageWriter.class);
+
+    private final BatchSink sink;
+    private final BlockingQueue<ChatMessage> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final ThroughputWindow recentPersisted;
+
+    @Autowired
+    public ChatMessageWriter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             @Value("${app.chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${app.chat.write-behind.batch-size:50}") int batchSize,
+                             @Value("${app.chat.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                             @Value("${app.chat.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis) {
+        this(transactionalSink(entityManager, new TransactionTemplate(transactionManager)),
+                queueCapacity, batchSize, flushIntervalMillis, offerTimeoutMillis, Clock.systemUTC());
+    }
+
+    ChatMessageWriter(BatchSink sink, int queueCapacity, int batchSize, long flushIntervalMillis,
+                      long offerTimeoutMillis, Clock clock) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.recentPersisted = new ThroughputWindow(clock, WINDOW_SECONDS);
+        this.writer = new Thread(this::run, "chat-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Queues a message for persistence; false means the queue stayed full for the offer timeout. */
+    public boolean offer(ChatMessage message) {
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        (queued ? accepted : rejected).increment();
+        return queued;
+    }
+
+    public ChatDto.WriterStats stats() {
+        long batchCount = batches.sum();
+        return new ChatDto.WriterStats(accepted.sum(), rejected.sum(), persisted.sum(), failed.sum(), batchCount,
+                batchCount == 0 ? 0 : (double) (persisted.sum() + failed.sum()) / batchCount,
+                queue.size(), queueCapacity, recentPersisted.perSecond(), WINDOW_SECONDS);
+    }
+
+    /** Stops accepting messages and waits for the queue to drain. */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Chat writer stopped with {} unsaved messages", queue.size());
+        }
+    }
+
+    private void run() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) {
+                        break;
+                    }
+                    ChatMessage next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ChatMessage> batch) {
+        batches.increment();
+        try {
+            sink.write(batch);
+            recordPersisted(batch.size());
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("Chat batch of {} failed, retrying one by one: {}", batch.size(), ex.getMessage());
+        }
+        // One bad row (say, a room deleted mid-flight) must not take the rest of the batch with it.
+        for (ChatMessage message : batch) {
+            try {
+                sink.write(List.of(message));
+                recordPersisted(1);
+            } catch (RuntimeException ex) {
+                failed.increment();
+                log.warn("Dropping chat message {} in room {}: {}", message.getId(), message.getRoomId(), ex.getMessage());
+            }
+        }
+    }
+
+    private void recordPersisted(int count) {
+        persisted.add(count);
+        recentPersisted.add(count);
+    }
+
+    private static BatchSink transactionalSink(EntityManager entityManager, TransactionTemplate transaction) {
+        // Ids are assigned up front, so persist + flush becomes one JDBC batch (hibernate.jdbc.batch_size).
+        return batch -> transaction.executeWithoutResult(status -> {
+            batch.forEach(entityManager::persist);
+            entityManager.flush();
+        });
+    }
+
+    @FunctionalInterface
+    interface BatchSink {
+        void write(List<ChatMessage> batch);
+    }
+}
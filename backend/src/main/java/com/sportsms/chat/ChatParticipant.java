@@ -0,0 +1,70 @@
+package com.sportsms.chat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.util.UUID;
+
+@Entity
+@Table(name = "chat_participants")
+public class ChatParticipant {
+    @Id
+    private UUID id;
+
+    @Column(name = "room_id", nullable = false)
+    private UUID roomId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "club_id")
+    private UUID clubId;
+
+    @Column(name = "role_snapshot")
+    private String roleSnapshot;
+
+    @PrePersist
+    void init() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(UUID roomId) {
+        this.roomId = roomId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getClubId() {
+        return clubId;
+    }
+
+    public void setClubId(UUID clubId) {
+        this.clubId = clubId;
+    }
+
+    public String getRoleSnapshot() {
+        return roleSnapshot;
+    }
+
+    public void setRoleSnapshot(String roleSnapshot) {
+        this.roleSnapshot = roleSnapshot;
+    }
+}
@@ -0,0 +1,8 @@
+package com.sportsms.chat;
+
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ChatParticipantRepository extends JpaRepository<ChatParticipant, UUID> {
+    boolean existsByRoomIdAndUserId(UUID roomId, UUID userId);
+}
@@ -0,0 +1,73 @@
+package com.sportsms.chat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "chat_rooms")
+public class ChatRoom {
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChatRoomType type;
+
+    @Column(name = "league_id")
+    private UUID leagueId;
+
+    @Column(name = "club_id")
+    private UUID clubId;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    void init() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+        if (createdAt == null) {
+            createdAt = OffsetDateTime.now();
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public ChatRoomType getType() {
+        return type;
+    }
+
+    public void setType(ChatRoomType type) {
+        this.type = type;
+    }
+
+    public UUID getLeagueId() {
+        return leagueId;
+    }
+
+    public void setLeagueId(UUID leagueId) {
+        this.leagueId = leagueId;
+    }
+
+    public UUID getClubId() {
+        return clubId;
+    }
+
+    public void setClubId(UUID clubId) {
+        this.clubId = clubId;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
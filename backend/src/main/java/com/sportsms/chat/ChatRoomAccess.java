@@ -0,0 +1,96 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.BoundedLruMap;
+import com.sportsms.user.Role;
+import com.sportsms.user.UserLookupCache;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides who may read and post in a room: its participants, and admins in any existing room.
+ * Answers are cached per (room, user) so a busy room does not cost a query per message.
+ */
+@Component
+public class ChatRoomAccess {
+    private final ChatParticipantRepository participantRepository;
+    private final ChatRoomRepository roomRepository;
+    private final UserLookupCache userLookupCache;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<Key, Decision> decisions;
+    /** Bumped under the {@code decisions} lock by every eviction; guarded by that lock. */
+    private long evictions;
+
+    @Autowired
+    public ChatRoomAccess(ChatParticipantRepository participantRepository, ChatRoomRepository roomRepository,
+                          UserLookupCache userLookupCache,
+                          @Value("${app.chat.access-cache.max-entries:10000}") int maxEntries,
+                          @Value("${app.chat.access-cache.ttl-seconds:60}") long ttlSeconds) {
+        this(participantRepository, roomRepository, userLookupCache, maxEntries, Duration.ofSeconds(ttlSeconds),
+                Clock.systemUTC());
+    }
+
+    ChatRoomAccess(ChatParticipantRepository participantRepository, ChatRoomRepository roomRepository,
+                   UserLookupCache userLookupCache, int maxEntries, Duration ttl, Clock clock) {
+        this.participantRepository = participantRepository;
+        this.roomRepository = roomRepository;
+        this.userLookupCache = userLookupCache;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.decisions = new BoundedLruMap<>(maxEntries);
+    }
+
+    /** The caller as a room member, or empty when they may not use the room. */
+    public Optional<UserLookupCache.CachedUser> member(Principal principal, UUID roomId) {
+        if (principal == null || roomId == null) {
+            return Optional.empty();
+        }
+        return userLookupCache.findByEmail(principal.getName())
+                .filter(user -> allowed(user, roomId));
+    }
+
+    public boolean canAccess(Principal principal, UUID roomId) {
+        return member(principal, roomId).isPresent();
+    }
+
+    public void evictRoom(UUID roomId) {
+        synchronized (decisions) {
+            decisions.keySet().removeIf(key -> key.roomId().equals(roomId));
+            evictions++;
+        }
+    }
+
+    private boolean allowed(UserLookupCache.CachedUser user, UUID roomId) {
+        Key key = new Key(roomId, user.id());
+        long now = clock.millis();
+        long stamp;
+        synchronized (decisions) {
+            Decision cached = decisions.get(key);
+            if (cached != null && now - cached.decidedAt() < ttl.toMillis()) {
+                return cached.allowed();
+            }
+            stamp = evictions;
+        }
+        boolean allowed = user.roles().contains(Role.ADMIN)
+                ? roomRepository.existsById(roomId)
+                : participantRepository.existsByRoomIdAndUserId(roomId, user.id());
+        synchronized (decisions) {
+            // A room evicted during the query may have gained this user since; don't cache the old answer.
+            if (evictions == stamp) {
+                decisions.put(key, new Decision(allowed, now));
+            }
+        }
+        return allowed;
+    }
+
+    private record Key(UUID roomId, UUID userId) {}
+
+    private record Decision(boolean allowed, long decidedAt) {}
+}
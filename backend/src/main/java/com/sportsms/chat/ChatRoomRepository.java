@@ -0,0 +1,15 @@
+package com.sportsms.chat;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
+    List<ChatRoom> findAllByOrderByCreatedAtDesc();
+
+    @Query("select r from ChatRoom r where r.id in " +
+            "(select p.roomId from ChatParticipant p where p.userId = :userId) order by r.createdAt desc")
+    List<ChatRoom> findByParticipant(@Param("userId") UUID userId);
+}
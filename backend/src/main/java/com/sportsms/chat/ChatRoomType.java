@@ -0,0 +1,8 @@
+package com.sportsms.chat;
+
+public enum ChatRoomType {
+    LEAGUE,
+    CLUB,
+    GROUP,
+    DIRECT
+}
@@ -0,0 +1,191 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.AfterCommit;
+import com.sportsms.common.NotFoundException;
+import com.sportsms.user.Role;
+import com.sportsms.user.UserLookupCache;
+import com.sportsms.user.UserRepository;
+import java.security.Principal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ChatService {
+    static final int MAX_CONTENT_LENGTH = 4000;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final ChatRoomRepository roomRepository;
+    private final ChatParticipantRepository participantRepository;
+    private final ChatMessageRepository messageRepository;
+    private final ChatRoomAccess roomAccess;
+    private final ChatMessageWriter messageWriter;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserLookupCache userLookupCache;
+    private final UserRepository userRepository;
+    private final Clock clock;
+
+    @Autowired
+    public ChatService(ChatRoomRepository roomRepository, ChatParticipantRepository participantRepository,
+                       ChatMessageRepository messageRepository, ChatRoomAccess roomAccess,
+                       ChatMessageWriter messageWriter, SimpMessagingTemplate messagingTemplate,
+                       UserLookupCache userLookupCache, UserRepository userRepository) {
+        this(roomRepository, participantRepository, messageRepository, roomAccess, messageWriter, messagingTemplate,
+                userLookupCache, userRepository, Clock.systemUTC());
+    }
+
+    ChatService(ChatRoomRepository roomRepository, ChatParticipantRepository participantRepository,
+                ChatMessageRepository messageRepository, ChatRoomAccess roomAccess,
+                ChatMessageWriter messageWriter, SimpMessagingTemplate messagingTemplate,
+                UserLookupCache userLookupCache, UserRepository userRepository, Clock clock) {
+        this.roomRepository = roomRepository;
+        this.participantRepository = participantRepository;
+        this.messageRepository = messageRepository;
+        this.roomAccess = roomAccess;
+        this.messageWriter = messageWriter;
+        this.messagingTemplate = messagingTemplate;
+        this.userLookupCache = userLookupCache;
+        this.userRepository = userRepository;
+        this.clock = clock;
+    }
+
+    public static String topic(UUID roomId) {
+        return "/topic/rooms/" + roomId;
+    }
+
+    @Transactional
+    public ChatDto.RoomResponse createRoom(Principal principal, ChatDto.RoomRequest request) {
+        UserLookupCache.CachedUser creator = currentUser(principal);
+        if (request.type() == null) {
+            throw new IllegalArgumentException("Room type is required");
+        }
+        Set<UUID> members = new LinkedHashSet<>();
+        members.add(creator.id());
+        if (request.participantIds() != null) {
+            for (UUID participantId : request.participantIds()) {
+                if (participantId == null) {
+                    throw new IllegalArgumentException("Participant id is required");
+                }
+                members.add(participantId);
+            }
+        }
+        // Check up front so an unknown id is a 400 rather than a foreign key violation at flush.
+        if (members.size() > 1 && userRepository.countByIdIn(members) != members.size()) {
+            throw new IllegalArgumentException("Unknown participant");
+        }
+        ChatRoom room = new ChatRoom();
+        room.setType(request.type());
+        room.setLeagueId(request.leagueId());
+        room.setClubId(request.clubId());
+        ChatRoom saved = roomRepository.save(room);
+        List<ChatParticipant> participants = new ArrayList<>(members.size());
+        for (UUID userId : members) {
+            ChatParticipant participant = new ChatParticipant();
+            participant.setRoomId(saved.getId());
+            participant.setUserId(userId);
+            participant.setClubId(request.clubId());
+            participants.add(participant);
+        }
+        participantRepository.saveAll(participants);
+        AfterCommit.run(() -> roomAccess.evictRoom(saved.getId()));
+        return toResponse(saved);
+    }
+
+    public List<ChatDto.RoomResponse> rooms(Principal principal) {
+        UserLookupCache.CachedUser user = currentUser(principal);
+        List<ChatRoom> rooms = user.roles().contains(Role.ADMIN)
+                ? roomRepository.findAllByOrderByCreatedAtDesc()
+                : roomRepository.findByParticipant(user.id());
+        return rooms.stream().map(ChatService::toResponse).toList();
+    }
+
+    /**
+     * Accepts a message: it is queued for the write-behind writer and then broadcast on the room's
+     * topic straight away. Messages still queued show up in history within a flush interval.
+     */
+    public ChatDto.MessageResponse send(Principal principal, UUID roomId, String content) {
+        UserLookupCache.CachedUser sender = roomAccess.member(principal, roomId)
+                .orElseThrow(() -> new NotFoundException("Chat room not found"));
+        String text = content == null ? "" : content.strip();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Message is empty");
+        }
+        if (text.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("Message is longer than " + MAX_CONTENT_LENGTH + " characters");
+        }
+        ChatMessage message = new ChatMessage(UUID.randomUUID(), roomId, sender.id(), text,
+                OffsetDateTime.now(clock));
+        // Persistence is at most once: a message is broadcast only after it is queued, but a queued message can
+        // still be lost if its batch fails to write or the process stops before the writer drains the queue.
+        if (!messageWriter.offer(message)) {
+            throw new RejectedExecutionException("Chat write queue is full");
+        }
+        ChatDto.MessageResponse response = new ChatDto.MessageResponse(message.getId(), roomId, sender.id(),
+                sender.fullName(), text, message.getSentAt());
+        messagingTemplate.convertAndSend(topic(roomId), response);
+        return response;
+    }
+
+    public ChatDto.MessagePage history(Principal principal, UUID roomId, String cursor, Integer limit) {
+        if (!roomAccess.canAccess(principal, roomId)) {
+            throw new NotFoundException("Chat room not found");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ChatCursor before = cursor == null || cursor.isBlank() ? null : ChatCursor.decode(cursor);
+        List<Object[]> rows = messageRepository.findPage(roomId, before == null ? null : before.sentAt(),
+                before == null ? null : before.id(), pageSize + 1);
+        List<ChatDto.MessageResponse> items = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            Object[] row = rows.get(i);
+            items.add(new ChatDto.MessageResponse(uuid(row[0]), uuid(row[1]), uuid(row[2]), (String) row[3],
+                    (String) row[4], toOffsetDateTime(row[5])));
+        }
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            ChatDto.MessageResponse last = items.get(items.size() - 1);
+            nextCursor = new ChatCursor(last.sentAt(), last.id()).encode();
+        }
+        return new ChatDto.MessagePage(items, nextCursor);
+    }
+
+    public ChatDto.WriterStats writerStats() {
+        return messageWriter.stats();
+    }
+
+    private UserLookupCache.CachedUser currentUser(Principal principal) {
+        return userLookupCache.findByEmail(principal.getName())
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    private static ChatDto.RoomResponse toResponse(ChatRoom room) {
+        return new ChatDto.RoomResponse(room.getId(), room.getType(), room.getLeagueId(), room.getClubId(),
+                room.getCreatedAt());
+    }
+
+    private static UUID uuid(Object value) {
+        return value == null ? null : UUID.fromString(value.toString());
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        return ((Timestamp) value).toInstant().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.NotFoundException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP side of chat: clients SEND to {@code /app/rooms/{roomId}/send} and receive on
+ * {@code /topic/rooms/{roomId}}. Failures go back to the sender only, on {@code /user/queue/errors}.
+ */
+@Controller
+public class ChatStompController {
+    private final ChatService chatService;
+
+    public ChatStompController(ChatService chatService) {
+        this.chatService = chatService;
+    }
+
+    @MessageMapping("/rooms/{roomId}/send")
+    public void send(@DestinationVariable UUID roomId, @Payload ChatDto.SendMessageRequest request, Principal principal) {
+        chatService.send(principal, roomId, request.content());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public Map<String, String> handleError(Exception ex) {
+        String message;
+        if (ex instanceof NotFoundException || ex instanceof IllegalArgumentException) {
+            message = ex.getMessage();
+        } else if (ex instanceof RejectedExecutionException) {
+            message = "Server is busy, please retry shortly";
+        } else {
+            message = "Message could not be sent";
+        }
+        return Map.of("error", message);
+    }
+}
@@ -4,6 +4,7 @@ import com.sportsms.post.Post;
 import com.sportsms.user.User;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
@@ -19,14 +20,18 @@ public class Comment {
     @GeneratedValue
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private User author;
 
+    // Read-only view of the foreign key, so listings can report the author without loading users.
+    @Column(name = "author_id", insertable = false, updatable = false)
+    private UUID authorId;
+
     @Column(name = "author_name")
     private String authorName;
 
@@ -83,4 +88,8 @@ public class Comment {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
 }
@@ -1,6 +1,9 @@
 package com.sportsms.comment;
 
 import jakarta.validation.Valid;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,13 +35,19 @@ public class CommentController {
         return commentService.list(postId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")))
                 .map(comment -> new CommentDto.CommentResponse(
                         comment.getId(),
-                        comment.getPost().getId(),
-                        comment.getAuthor() != null ? comment.getAuthor().getId() : null,
+                        postId,
+                        comment.getAuthorId(),
                         comment.getAuthorName(),
                         comment.getContent(),
                         comment.getCreatedAt()));
     }
 
+    @GetMapping("/posts")
+    public Map<UUID, List<CommentDto.CommentResponse>> latestForPosts(@RequestParam("ids") List<UUID> postIds,
+                                                                      @RequestParam(defaultValue = "3") int limit) {
+        return commentService.latestForPosts(new LinkedHashSet<>(postIds), limit);
+    }
+
     @PostMapping("/post/{postId}")
     @PreAuthorize("isAuthenticated()")
     public CommentDto.CommentResponse add(@PathVariable("postId") UUID postId,
@@ -1,10 +1,41 @@
 package com.sportsms.comment;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
-    Page<Comment> findByPostId(UUID postId, Pageable pageable);
+    // No count query: the page total comes from posts.comment_count.
+    List<Comment> findByPostId(UUID postId, Pageable pageable);
+
+    @Query("select c.post.id from Comment c where c.id = :commentId")
+    Optional<UUID> findPostId(@Param("commentId") UUID commentId);
+
+    @Modifying
+    @Query("delete from Comment c where c.id = :commentId")
+    int deleteComment(@Param("commentId") UUID commentId);
+
+    // Newest comments of each published post in one round trip; each lateral probe is an
+    // index range scan on idx_comments_post_created.
+    @Query(value = """
+            select c.id, c.post_id, c.author_id, c.author_name, c.content, c.created_at
+            from posts p
+            cross join lateral (
+                select ci.id, ci.post_id, ci.author_id, ci.author_name, ci.content, ci.created_at
+                from comments ci
+                where ci.post_id = p.id
+                order by ci.created_at desc, ci.id desc
+                limit :perPost
+            ) c
+            where p.id in (:postIds)
+              and p.status = 'PUBLISHED'
+            order by c.post_id, c.created_at desc, c.id desc
+            """, nativeQuery = true)
+    List<Object[]> findLatestByPostIds(@Param("postIds") Collection<UUID> postIds, @Param("perPost") int perPost);
 }
@@ -1,18 +1,23 @@
 package com.sportsms.comment;
 
+import com.sportsms.user.UserLookupCache;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 @Component("commentSecurity")
 public class CommentSecurity {
     private final CommentService commentService;
+    private final UserLookupCache userLookupCache;
 
-    public CommentSecurity(CommentService commentService) {
+    public CommentSecurity(CommentService commentService, UserLookupCache userLookupCache) {
         this.commentService = commentService;
+        this.userLookupCache = userLookupCache;
     }
 
     public boolean isOwner(Authentication authentication, java.util.UUID commentId) {
         Comment comment = commentService.get(commentId);
-        return comment.getAuthor() != null && comment.getAuthor().getEmail().equals(authentication.getName());
+        return comment.getAuthorId() != null && userLookupCache.findByEmail(authentication.getName())
+                .map(user -> user.id().equals(comment.getAuthorId()))
+                .orElse(false);
     }
 }
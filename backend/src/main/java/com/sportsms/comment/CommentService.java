@@ -1,53 +1,119 @@
 package com.sportsms.comment;
 
+import com.sportsms.common.AfterCommit;
 import com.sportsms.common.NotFoundException;
-import com.sportsms.post.Post;
 import com.sportsms.post.PostRepository;
+import com.sportsms.post.PublishedPostCache;
 import com.sportsms.user.User;
-import com.sportsms.user.UserRepository;
+import com.sportsms.user.UserLookupCache;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CommentService {
+    static final int MAX_BULK_POSTS = 100;
+    static final int MAX_COMMENTS_PER_POST = 20;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final PublishedPostCache publishedPostCache;
 
-    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepository, PostRepository postRepository,
+                          UserLookupCache userLookupCache, PublishedPostCache publishedPostCache) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
-        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.publishedPostCache = publishedPostCache;
     }
 
     public Page<Comment> list(UUID postId, Pageable pageable) {
-        return commentRepository.findByPostId(postId, pageable);
+        List<Comment> comments = commentRepository.findByPostId(postId, pageable);
+        long total = postRepository.findCommentCount(postId).orElse(0);
+        return new PageImpl<>(comments, pageable, total);
+    }
+
+    /**
+     * The newest {@code perPost} comments of each of the given published posts, read in a single
+     * query. Posts without comments (or not published) map to an empty list.
+     */
+    public Map<UUID, List<CommentDto.CommentResponse>> latestForPosts(Collection<UUID> postIds, int perPost) {
+        if (postIds.size() > MAX_BULK_POSTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_POSTS + " post ids per request");
+        }
+        if (perPost < 1 || perPost > MAX_COMMENTS_PER_POST) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_COMMENTS_PER_POST);
+        }
+        Map<UUID, List<CommentDto.CommentResponse>> byPost = new LinkedHashMap<>();
+        postIds.forEach(postId -> byPost.put(postId, new ArrayList<>()));
+        if (postIds.isEmpty()) {
+            return byPost;
+        }
+        for (Object[] row : commentRepository.findLatestByPostIds(postIds, perPost)) {
+            CommentDto.CommentResponse comment = new CommentDto.CommentResponse(uuid(row[0]), uuid(row[1]),
+                    uuid(row[2]), (String) row[3], (String) row[4], toInstant(row[5]));
+            byPost.computeIfAbsent(comment.postId(), id -> new ArrayList<>()).add(comment);
+        }
+        return byPost;
     }
 
+    @Transactional
     public Comment add(UUID postId, CommentDto.CommentRequest request, String authorEmail) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new NotFoundException("Post not found"));
-        User author = userRepository.findByEmail(authorEmail)
+        if (postRepository.adjustCommentCount(postId, 1) == 0) {
+            throw new NotFoundException("Post not found");
+        }
+        User author = userLookupCache.findByEmail(authorEmail)
+                .map(UserLookupCache.CachedUser::toUser)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         Comment comment = new Comment();
-        comment.setPost(post);
+        comment.setPost(postRepository.getReferenceById(postId));
         comment.setAuthor(author);
         comment.setAuthorName(author.getFullName());
         comment.setContent(request.content());
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        AfterCommit.run(() -> publishedPostCache.invalidate(postId));
+        return saved;
     }
 
+    @Transactional
     public void delete(UUID commentId) {
-        if (!commentRepository.existsById(commentId)) {
+        UUID postId = commentRepository.findPostId(commentId)
+                .orElseThrow(() -> new NotFoundException("Comment not found"));
+        if (commentRepository.deleteComment(commentId) == 0) {
             throw new NotFoundException("Comment not found");
         }
-        commentRepository.deleteById(commentId);
+        postRepository.adjustCommentCount(postId, -1);
+        AfterCommit.run(() -> publishedPostCache.invalidate(postId));
     }
 
     public Comment get(UUID commentId) {
         return commentRepository.findById(commentId)
                 .orElseThrow(() -> new NotFoundException("Comment not found"));
     }
+
+    private static UUID uuid(Object value) {
+        return value == null ? null : UUID.fromString(value.toString());
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        return ((Timestamp) value).toInstant();
+    }
 }
@@ -0,0 +1,33 @@
+package com.sportsms.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An access-ordered map that drops its least recently used entry once it holds more than
+ * {@code maxEntries}. Not thread-safe: the caches built on it guard it with {@code synchronized}.
+ */
+public class BoundedLruMap<K, V> extends LinkedHashMap<K, V> {
+    private final int maxEntries;
+    private final Runnable onEviction;
+
+    public BoundedLruMap(int maxEntries) {
+        this(maxEntries, () -> { });
+    }
+
+    /** @param onEviction called each time an entry is dropped for space, e.g. to count evictions */
+    public BoundedLruMap(int maxEntries, Runnable onEviction) {
+        super(16, 0.75f, true);
+        this.maxEntries = maxEntries;
+        this.onEviction = onEviction;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        if (size() > maxEntries) {
+            onEviction.run();
+            return true;
+        }
+        return false;
+    }
+}
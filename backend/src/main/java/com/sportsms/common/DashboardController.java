@@ -8,15 +8,15 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
-    private final DashboardService dashboardService;
+    private final DashboardSnapshot dashboardSnapshot;
 
-    public DashboardController(DashboardService dashboardService) {
-        this.dashboardService = dashboardService;
+    public DashboardController(DashboardSnapshot dashboardSnapshot) {
+        this.dashboardSnapshot = dashboardSnapshot;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')")
     public DashboardDto.DashboardResponse getDashboard() {
-        return dashboardService.getDashboard();
+        return dashboardSnapshot.get();
     }
 }
@@ -16,4 +16,7 @@ public class DashboardDto {
     public record DashboardResponse(Summary summary, List<FixtureCard> upcomingMatches, List<PaymentCard> latestPayments,
                                     BookingSummary bookingSummary, long unreadMessages, List<SimpleSeries> revenuePerMonth,
                                     List<StatusWidget> subscriptionStatuses) {}
+    public record DashboardUpdate(long version, Summary summary, List<FixtureCard> upcomingMatches, List<PaymentCard> latestPayments,
+                                  BookingSummary bookingSummary, Long unreadMessages, List<SimpleSeries> revenuePerMonth,
+                                  List<StatusWidget> subscriptionStatuses) {}
 }
@@ -7,10 +7,52 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class DashboardService {
+    // Entity counts are full-table scans, so they are served from dashboard_counters and
+    // refreshed in the background instead of being recomputed on every dashboard load.
+    private static final String REFRESH_COUNTERS = """
+            insert into dashboard_counters (name, value, refreshed_at)
+            values ('clubs', (select count(*) from clubs), now()),
+                   ('teams', (select count(*) from teams), now()),
+                   ('players', (select count(*) from players), now()),
+                   ('competitions', (select count(*) from competitions), now()),
+                   ('fixtures', (select count(*) from fixtures), now()),
+                   ('subscription_plans', (select count(*) from subscription_plans), now()),
+                   ('facility_bookings', (select count(*) from facility_bookings), now()),
+                   ('notifications', (select count(*) from notifications), now()),
+                   ('chat_messages', (select count(*) from chat_messages), now()),
+                   ('message_read_receipts', (select count(*) from message_read_receipts), now()),
+                   ('subscriptions_active', (select count(*) from subscriptions where status = 'ACTIVE'), now()),
+                   ('subscriptions_expired', (select count(*) from subscriptions where status = 'EXPIRED'), now()),
+                   ('subscriptions_suspended', (select count(*) from subscriptions where status = 'SUSPENDED'), now())
+            on conflict (name) do update set value = excluded.value, refreshed_at = excluded.refreshed_at
+            """;
+
+    private static final String COUNTS = """
+            select coalesce(sum(value) filter (where name = 'clubs'), 0),
+                   coalesce(sum(value) filter (where name = 'teams'), 0),
+                   coalesce(sum(value) filter (where name = 'players'), 0),
+                   coalesce(sum(value) filter (where name = 'competitions'), 0),
+                   coalesce(sum(value) filter (where name = 'fixtures'), 0),
+                   coalesce(sum(value) filter (where name = 'subscription_plans'), 0),
+                   coalesce(sum(value) filter (where name = 'facility_bookings'), 0),
+                   coalesce(sum(value) filter (where name in ('notifications', 'chat_messages')), 0)
+                       - coalesce(sum(value) filter (where name = 'message_read_receipts'), 0),
+                   coalesce(sum(value) filter (where name = 'subscriptions_active'), 0),
+                   coalesce(sum(value) filter (where name = 'subscriptions_expired'), 0),
+                   coalesce(sum(value) filter (where name = 'subscriptions_suspended'), 0),
+                   (select count(*) from facility_bookings
+                    where start_date_time >= current_date and start_date_time < current_date + 1),
+                   (select count(*) from facility_bookings
+                    where start_date_time >= current_date and start_date_time < current_date + 8)
+            from dashboard_counters
+            """;
+
     private final EntityManager entityManager;
 
     public DashboardService(EntityManager entityManager) {
@@ -18,8 +60,9 @@ public class DashboardService {
     }
 
     public DashboardDto.DashboardResponse getDashboard() {
+        Object[] counts = (Object[]) entityManager.createNativeQuery(COUNTS).getSingleResult();
         DashboardDto.Summary summary = new DashboardDto.Summary(
-                count("clubs"), count("teams"), count("players"), count("competitions"), count("fixtures"), count("subscription_plans"), count("facility_bookings"));
+                asLong(counts[0]), asLong(counts[1]), asLong(counts[2]), asLong(counts[3]), asLong(counts[4]), asLong(counts[5]), asLong(counts[6]));
 
         List<DashboardDto.FixtureCard> upcoming = entityManager.createQuery(
                         "select f from Fixture f where f.matchDate between :now and :week order by f.matchDate asc", Fixture.class)
@@ -37,17 +80,19 @@ public class DashboardService {
                     return new DashboardDto.PaymentCard(UUID.fromString(r[0].toString()), new BigDecimal(r[1].toString()), String.valueOf(r[2]), String.valueOf(r[3]), r[4] == null ? null : r[4].toString());
                 }).toList();
 
-        long unread = count("notifications") + count("chat_messages") - count("message_read_receipts");
-        long bookingsToday = countWhere("facility_bookings", "cast(start_date_time as date) = current_date");
-        long bookingsWeek = countWhere("facility_bookings", "cast(start_date_time as date) between current_date and current_date + interval '7 day'");
-        List<DashboardDto.SimpleSeries> revenueSeries = entityManager.createNativeQuery("select to_char(date_trunc('month', coalesce(paid_at, now())), 'YYYY-MM') as month, coalesce(sum(amount),0) from payments group by 1 order by 1 desc limit 6")
+        List<DashboardDto.SimpleSeries> revenueSeries = entityManager.createNativeQuery("select to_char(month, 'YYYY-MM') as month, coalesce(sum(amount),0) from payment_monthly_rollup group by 1 order by 1 desc limit 6")
                 .getResultList().stream().map(r -> new DashboardDto.SimpleSeries(String.valueOf(((Object[]) r)[0]), new BigDecimal(((Object[]) r)[1].toString()))).toList();
 
         return new DashboardDto.DashboardResponse(summary, upcoming, payments,
-                new DashboardDto.BookingSummary(bookingsToday, bookingsWeek), unread, revenueSeries,
-                List.of(new DashboardDto.StatusWidget("ACTIVE", countWhere("subscriptions", "status='ACTIVE'")), new DashboardDto.StatusWidget("EXPIRED", countWhere("subscriptions", "status='EXPIRED'")), new DashboardDto.StatusWidget("SUSPENDED", countWhere("subscriptions", "status='SUSPENDED'"))));
+                new DashboardDto.BookingSummary(asLong(counts[11]), asLong(counts[12])), asLong(counts[7]), revenueSeries,
+                List.of(new DashboardDto.StatusWidget("ACTIVE", asLong(counts[8])), new DashboardDto.StatusWidget("EXPIRED", asLong(counts[9])), new DashboardDto.StatusWidget("SUSPENDED", asLong(counts[10]))));
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.counters-refresh-ms:60000}")
+    @Transactional
+    public void refreshCounters() {
+        entityManager.createNativeQuery(REFRESH_COUNTERS).executeUpdate();
     }
 
-    private long count(String table) { return ((Number) entityManager.createNativeQuery("select count(*) from " + table).getSingleResult()).longValue(); }
-    private long countWhere(String table, String where) { return ((Number) entityManager.createNativeQuery("select count(*) from " + table + " where " + where).getSingleResult()).longValue(); }
+    private static long asLong(Object value) { return value == null ? 0 : ((Number) value).longValue(); }
 }
@@ -0,0 +1,79 @@
+package com.sportsms.common;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the latest dashboard, rebuilt in the background so requests never recompute it.
+ * Each rebuild that changes something is pushed to {@value #TOPIC} as a {@link DashboardDto.DashboardUpdate}
+ * carrying only the sections that changed.
+ */
+@Component
+public class DashboardSnapshot {
+    public static final String TOPIC = "/topic/dashboard";
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardSnapshot.class);
+
+    private final DashboardService dashboardService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AtomicReference<Versioned> current = new AtomicReference<>();
+
+    public DashboardSnapshot(DashboardService dashboardService, SimpMessagingTemplate messagingTemplate) {
+        this.dashboardService = dashboardService;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public DashboardDto.DashboardResponse get() {
+        Versioned snapshot = current.get();
+        if (snapshot == null) {
+            current.compareAndSet(null, new Versioned(1, dashboardService.getDashboard()));
+            snapshot = current.get();
+        }
+        return snapshot.dashboard();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.snapshot-refresh-ms:5000}")
+    public void refresh() {
+        DashboardDto.DashboardResponse next;
+        try {
+            next = dashboardService.getDashboard();
+        } catch (RuntimeException ex) {
+            log.warn("Dashboard snapshot refresh failed, keeping previous snapshot: {}", ex.getMessage());
+            return;
+        }
+        Versioned previous = current.get();
+        if (previous != null && previous.dashboard().equals(next)) {
+            return;
+        }
+        Versioned updated = new Versioned(previous == null ? 1 : previous.version() + 1, next);
+        // Only the scheduler swaps once a snapshot exists, so losing this race means a first GET
+        // just installed an equally fresh one.
+        if (current.compareAndSet(previous, updated)) {
+            messagingTemplate.convertAndSend(TOPIC, diff(updated.version(), previous != null ? previous.dashboard() : null, next));
+        }
+    }
+
+    static DashboardDto.DashboardUpdate diff(long version, DashboardDto.DashboardResponse before,
+                                             DashboardDto.DashboardResponse after) {
+        return new DashboardDto.DashboardUpdate(
+                version,
+                changed(before == null ? null : before.summary(), after.summary()),
+                changed(before == null ? null : before.upcomingMatches(), after.upcomingMatches()),
+                changed(before == null ? null : before.latestPayments(), after.latestPayments()),
+                changed(before == null ? null : before.bookingSummary(), after.bookingSummary()),
+                before == null || before.unreadMessages() != after.unreadMessages() ? after.unreadMessages() : null,
+                changed(before == null ? null : before.revenuePerMonth(), after.revenuePerMonth()),
+                changed(before == null ? null : before.subscriptionStatuses(), after.subscriptionStatuses()));
+    }
+
+    private static <T> T changed(T before, T after) {
+        return Objects.equals(before, after) ? null : after;
+    }
+
+    private record Versioned(long version, DashboardDto.DashboardResponse dashboard) {}
+}
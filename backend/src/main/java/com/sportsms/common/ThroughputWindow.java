@@ -0,0 +1,50 @@
+package com.sportsms.common;
+
+import java.time.Clock;
+
+/**
+ * Sums a quantity (bytes, messages) in one-second buckets over a sliding window, so a rate reflects
+ * recent traffic rather than the lifetime average.
+ */
+public class ThroughputWindow {
+    private final Clock clock;
+    private final int windowSeconds;
+    private final long[] bucketSeconds;
+    private final long[] bucketTotals;
+
+    public ThroughputWindow(Clock clock, int windowSeconds) {
+        this.clock = clock;
+        this.windowSeconds = windowSeconds;
+        this.bucketSeconds = new long[windowSeconds];
+        this.bucketTotals = new long[windowSeconds];
+    }
+
+    public void add(long amount) {
+        long second = clock.millis() / 1000;
+        int slot = (int) (second % windowSeconds);
+        synchronized (bucketTotals) {
+            if (bucketSeconds[slot] != second) {
+                bucketSeconds[slot] = second;
+                bucketTotals[slot] = 0;
+            }
+            bucketTotals[slot] += amount;
+        }
+    }
+
+    public double perSecond() {
+        long now = clock.millis() / 1000;
+        long total = 0;
+        synchronized (bucketTotals) {
+            for (int i = 0; i < windowSeconds; i++) {
+                if (now - bucketSeconds[i] < windowSeconds) {
+                    total += bucketTotals[i];
+                }
+            }
+        }
+        return (double) total / windowSeconds;
+    }
+
+    public int windowSeconds() {
+        return windowSeconds;
+    }
+}
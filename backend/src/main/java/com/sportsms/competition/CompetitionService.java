@@ -1,6 +1,7 @@
 package com.sportsms.competition;
 
 import com.sportsms.common.NotFoundException;
+import com.sportsms.standings.StandingsService;
 import com.sportsms.team.Team;
 import com.sportsms.team.TeamRepository;
 import java.util.List;
@@ -14,12 +15,14 @@ public class CompetitionService {
     private final CompetitionRepository competitionRepository;
     private final SeasonRepository seasonRepository;
     private final TeamRepository teamRepository;
+    private final StandingsService standingsService;
 
     public CompetitionService(CompetitionRepository competitionRepository, SeasonRepository seasonRepository,
-                              TeamRepository teamRepository) {
+                              TeamRepository teamRepository, StandingsService standingsService) {
         this.competitionRepository = competitionRepository;
         this.seasonRepository = seasonRepository;
         this.teamRepository = teamRepository;
+        this.standingsService = standingsService;
     }
 
     public List<Season> listSeasons() {
@@ -48,6 +51,7 @@ public class CompetitionService {
             throw new NotFoundException("Season not found");
         }
         seasonRepository.deleteById(id);
+        standingsService.seasonDeleted(id);
     }
 
     public List<Competition> listCompetitions() {
@@ -64,7 +68,9 @@ public class CompetitionService {
         Competition competition = competitionRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Competition not found"));
         applyCompetitionRequest(competition, request);
-        return competitionRepository.save(competition);
+        Competition saved = competitionRepository.save(competition);
+        standingsService.invalidateCompetition(id);
+        return saved;
     }
 
     public void deleteCompetition(UUID id) {
@@ -72,6 +78,7 @@ public class CompetitionService {
             throw new NotFoundException("Competition not found");
         }
         competitionRepository.deleteById(id);
+        standingsService.competitionDeleted(id);
     }
 
     private void applyCompetitionRequest(Competition competition, CompetitionDto.CompetitionRequest request) {
@@ -39,6 +39,9 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:http://localhost:5173,http://144.91.106.79,https://144.91.106.79}")
     private String allowedOrigins;
 
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
                           CustomUserDetailsService userDetailsService,
                           RestAuthenticationEntryPoint authenticationEntryPoint,
@@ -56,6 +59,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/api-docs/**", "/v3/api-docs/**", "/uploads/**").permitAll()
+                        // The STOMP CONNECT frame carries the JWT; see StompAuthenticationInterceptor.
+                        .requestMatchers("/ws-chat", "/ws-chat/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register", "/api/auth/signup", "/api/auth/refresh").permitAll()
                         .requestMatchers("/api/auth/me").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
@@ -79,6 +84,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -90,7 +96,7 @@ public class SecurityConfig {
     @Bean
     public PasswordEncoder passwordEncoder() {
         String idForEncode = "bcrypt";
-        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
         Map<String, PasswordEncoder> encoders = new HashMap<>();
         encoders.put(idForEncode, bcrypt);
 
@@ -0,0 +1,53 @@
+package com.sportsms.config;
+
+import com.sportsms.auth.JwtTokenVerifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization} header of the CONNECT frame. Browsers
+ * cannot set headers on the WebSocket handshake, so the handshake is open and this is where the JWT
+ * is checked; the user set here is the principal of every later frame in the session.
+ */
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+    private final JwtTokenVerifier tokenVerifier;
+
+    public StompAuthenticationInterceptor(JwtTokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+        String token = JwtTokenVerifier.bearerToken(accessor.getFirstNativeHeader("Authorization"));
+        if (token == null) {
+            // Non-browser clients may have authenticated the handshake itself through the HTTP filter.
+            if (accessor.getUser() == null) {
+                throw new AccessDeniedException("Missing bearer token");
+            }
+            return message;
+        }
+        UsernamePasswordAuthenticationToken authentication;
+        try {
+            authentication = tokenVerifier.authenticate(token);
+        } catch (RuntimeException ex) {
+            throw new AccessDeniedException("Invalid bearer token");
+        }
+        if (authentication == null) {
+            throw new AccessDeniedException("Invalid bearer token");
+        }
+        accessor.setUser(authentication);
+        return message;
+    }
+}
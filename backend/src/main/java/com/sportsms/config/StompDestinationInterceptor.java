@@ -0,0 +1,86 @@
+package com.sportsms.config;
+
+import com.sportsms.chat.ChatRoomAccess;
+import com.sportsms.common.DashboardSnapshot;
+import java.security.Principal;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Decides which broker destinations a STOMP session may use. Only the server publishes to
+ * {@code /topic} and {@code /queue}: chat messages go through {@code /app} so they are queued for
+ * storage before anyone sees them. Subscriptions are allow-listed by exact destination, because the
+ * simple broker treats a subscription such as {@code /topic/**} as a pattern over every topic.
+ */
+@Component
+public class StompDestinationInterceptor implements ChannelInterceptor {
+    private static final Set<String> DASHBOARD_ROLES = Set.of("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_COACH");
+    private static final String ROOM_TOPIC_PREFIX = "/topic/rooms/";
+    private static final String USER_PREFIX = "/user/";
+
+    private final ChatRoomAccess chatRoomAccess;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public StompDestinationInterceptor(ChatRoomAccess chatRoomAccess) {
+        this.chatRoomAccess = chatRoomAccess;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        if (StompCommand.SEND.equals(accessor.getCommand()) && destination != null
+                && (destination.startsWith("/topic/") || destination.startsWith("/queue/"))) {
+            throw new AccessDeniedException("Not allowed to send to " + destination);
+        }
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) && !maySubscribe(accessor.getUser(), destination)) {
+            throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+        }
+        return message;
+    }
+
+    private boolean maySubscribe(Principal user, String destination) {
+        if (destination == null || pathMatcher.isPattern(destination)) {
+            return false;
+        }
+        // The dashboard topic carries the same data as GET /api/dashboard, so it gets the same role check.
+        if (DashboardSnapshot.TOPIC.equals(destination)) {
+            return hasAnyRole(user, DASHBOARD_ROLES);
+        }
+        if (destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            UUID roomId = roomId(destination);
+            return roomId != null && chatRoomAccess.canAccess(user, roomId);
+        }
+        // User destinations are resolved to the subscriber's own session queue by the broker.
+        return destination.startsWith(USER_PREFIX);
+    }
+
+    private static UUID roomId(String destination) {
+        String id = destination.substring(ROOM_TOPIC_PREFIX.length());
+        try {
+            UUID roomId = UUID.fromString(id);
+            // Rooms are published on their canonical form only, so anything else can never receive a message.
+            return roomId.toString().equals(id) ? roomId : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static boolean hasAnyRole(Principal user, Set<String> roles) {
+        return user instanceof Authentication authentication
+                && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(roles::contains);
+    }
+}
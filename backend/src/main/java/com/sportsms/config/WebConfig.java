@@ -1,24 +0,0 @@
-package com.sportsms.config;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-import java.nio.file.Path;
-
-@Configuration
-public class WebConfig implements WebMvcConfigurer {
-    private final String uploadDir;
-
-    public WebConfig(@Value("${app.upload.directory}") String uploadDir) {
-        this.uploadDir = uploadDir;
-    }
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path path = Path.of(uploadDir).toAbsolutePath();
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(path.toUri().toString());
-    }
-}
@@ -1,6 +1,7 @@
 package com.sportsms.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -9,6 +10,15 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final StompAuthenticationInterceptor authenticationInterceptor;
+    private final StompDestinationInterceptor destinationInterceptor;
+
+    public WebSocketConfig(StompAuthenticationInterceptor authenticationInterceptor,
+                           StompDestinationInterceptor destinationInterceptor) {
+        this.authenticationInterceptor = authenticationInterceptor;
+        this.destinationInterceptor = destinationInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.enableSimpleBroker("/topic", "/queue");
@@ -19,4 +29,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-chat").setAllowedOriginPatterns("*");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authentication runs first so the destination checks see the session user.
+        registration.interceptors(authenticationInterceptor, destinationInterceptor);
+    }
 }
@@ -0,0 +1,171 @@
+package com.sportsms.facility;
+
+import com.sportsms.common.BoundedLruMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-facility interval trees of live bookings and maintenance windows, so availability checks
+ * are answered from memory. The trees only cover intervals ending after a horizon; asking about
+ * an earlier slot reloads the facility from that point. Writes made on other nodes show up after
+ * the TTL. The index is advisory: the {@code facility_bookings_no_overlap} exclusion constraint
+ * is what actually prevents double bookings.
+ */
+@Component
+class FacilityAvailabilityIndex {
+    static final List<BookingStatus> LIVE_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.APPROVED);
+
+    private final FacilityBookingRepository bookingRepository;
+    private final MaintenanceScheduleRepository maintenanceRepository;
+    private final Duration ttl;
+    private final Duration lookback;
+    private final Clock clock;
+    private final Map<UUID, FacilityIntervals> facilities;
+
+    @Autowired
+    FacilityAvailabilityIndex(FacilityBookingRepository bookingRepository,
+                              MaintenanceScheduleRepository maintenanceRepository,
+                              @Value("${app.facilities.availability-index.max-facilities:512}") int maxFacilities,
+                              @Value("${app.facilities.availability-index.ttl-seconds:60}") long ttlSeconds) {
+        this(bookingRepository, maintenanceRepository, maxFacilities, Duration.ofSeconds(ttlSeconds),
+                Duration.ofDays(1), Clock.systemUTC());
+    }
+
+    FacilityAvailabilityIndex(FacilityBookingRepository bookingRepository,
+                              MaintenanceScheduleRepository maintenanceRepository,
+                              int maxFacilities, Duration ttl, Duration lookback, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.maintenanceRepository = maintenanceRepository;
+        this.ttl = ttl;
+        this.lookback = lookback;
+        this.clock = clock;
+        this.facilities = new BoundedLruMap<>(maxFacilities);
+    }
+
+    /** The earliest-starting live booking or maintenance window overlapping the slot, or null. */
+    IntervalTree.Interval firstConflict(UUID facilityId, OffsetDateTime start, OffsetDateTime end) {
+        long from = millis(start);
+        FacilityIntervals intervals = intervals(facilityId, from);
+        synchronized (intervals) {
+            return intervals.tree.firstOverlap(from, millis(end));
+        }
+    }
+
+    List<IntervalTree.Interval> overlapping(UUID facilityId, OffsetDateTime start, OffsetDateTime end) {
+        long from = millis(start);
+        FacilityIntervals intervals = intervals(facilityId, from);
+        List<IntervalTree.Interval> result = new ArrayList<>();
+        synchronized (intervals) {
+            intervals.tree.forEachOverlap(from, millis(end), result::add);
+        }
+        return result;
+    }
+
+    void addBooking(FacilityBooking booking) {
+        add(booking.getFacilityId(), new IntervalTree.Interval(millis(booking.getStartDateTime()),
+                millis(booking.getEndDateTime()), booking.getId(), IntervalTree.Kind.BOOKING));
+    }
+
+    void addMaintenance(MaintenanceSchedule maintenance) {
+        add(maintenance.getFacilityId(), new IntervalTree.Interval(millis(maintenance.getStartDateTime()),
+                millis(maintenance.getEndDateTime()), maintenance.getId(), IntervalTree.Kind.MAINTENANCE));
+    }
+
+    void remove(UUID facilityId, UUID intervalId) {
+        FacilityIntervals intervals;
+        synchronized (facilities) {
+            intervals = facilities.get(facilityId);
+        }
+        if (intervals != null) {
+            synchronized (intervals) {
+                IntervalTree.Interval interval = intervals.byId.remove(intervalId);
+                if (interval != null) {
+                    intervals.tree.remove(interval);
+                }
+            }
+        }
+    }
+
+    void invalidate(UUID facilityId) {
+        synchronized (facilities) {
+            facilities.remove(facilityId);
+        }
+    }
+
+    private void add(UUID facilityId, IntervalTree.Interval interval) {
+        FacilityIntervals intervals;
+        synchronized (facilities) {
+            intervals = facilities.get(facilityId);
+        }
+        // A facility that is not indexed yet picks the interval up when it is first loaded.
+        if (intervals != null) {
+            synchronized (intervals) {
+                intervals.add(interval);
+            }
+        }
+    }
+
+    private FacilityIntervals intervals(UUID facilityId, long from) {
+        FacilityIntervals intervals;
+        synchronized (facilities) {
+            intervals = facilities.computeIfAbsent(facilityId, id -> new FacilityIntervals());
+        }
+        synchronized (intervals) {
+            long now = clock.millis();
+            if (intervals.loadedAt < 0 || now - intervals.loadedAt >= ttl.toMillis() || from < intervals.horizon) {
+                load(facilityId, intervals, Math.min(from, now - lookback.toMillis()), now);
+            }
+        }
+        return intervals;
+    }
+
+    private void load(UUID facilityId, FacilityIntervals intervals, long horizon, long now) {
+        OffsetDateTime after = OffsetDateTime.ofInstant(Instant.ofEpochMilli(horizon), clock.getZone());
+        intervals.clear();
+        for (Object[] row : bookingRepository.findLiveIntervals(facilityId, LIVE_STATUSES, after)) {
+            intervals.add(interval(row, IntervalTree.Kind.BOOKING));
+        }
+        for (Object[] row : maintenanceRepository.findIntervals(facilityId, after)) {
+            intervals.add(interval(row, IntervalTree.Kind.MAINTENANCE));
+        }
+        intervals.horizon = horizon;
+        intervals.loadedAt = now;
+    }
+
+    private static IntervalTree.Interval interval(Object[] row, IntervalTree.Kind kind) {
+        return new IntervalTree.Interval(millis((OffsetDateTime) row[1]), millis((OffsetDateTime) row[2]),
+                (UUID) row[0], kind);
+    }
+
+    private static long millis(OffsetDateTime value) {
+        return value.toInstant().toEpochMilli();
+    }
+
+    private static final class FacilityIntervals {
+        IntervalTree tree = new IntervalTree();
+        final Map<UUID, IntervalTree.Interval> byId = new HashMap<>();
+        long horizon;
+        long loadedAt = -1;
+
+        void add(IntervalTree.Interval interval) {
+            if (interval.end() > interval.start() && byId.putIfAbsent(interval.id(), interval) == null) {
+                tree.insert(interval);
+            }
+        }
+
+        void clear() {
+            tree = new IntervalTree();
+            byId.clear();
+        }
+    }
+}
@@ -1,21 +1,46 @@
 package com.sportsms.facility;
 
 import com.sportsms.club.ClubRepository;
+import com.sportsms.common.AfterCommit;
 import com.sportsms.common.NotFoundException;
 import com.sportsms.user.UserRepository;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 enum FacilityStatus { ACTIVE, MAINTENANCE, INACTIVE }
-enum BookingStatus { PENDING, APPROVED, REJECTED, CANCELLED }
+enum BookingStatus { PENDING, APPROVED, REJECTED, CANCELLED;
+    boolean isLive() { return this == PENDING || this == APPROVED; }
+    boolean canMoveTo(BookingStatus next) { return switch (this) { case PENDING -> next != PENDING; case APPROVED -> next == CANCELLED; default -> false; }; }
+}
 
 @Entity @Table(name = "facilities")
 class Facility { @Id private UUID id; @Column(nullable=false) private String name; private UUID sportId; private String location; private Integer capacity;
@@ -31,32 +56,254 @@ class MaintenanceSchedule { @Id private UUID id; private UUID facilityId; privat
 
 interface FacilityRepository extends JpaRepository<Facility, UUID> {}
 interface FacilityBookingRepository extends JpaRepository<FacilityBooking, UUID> {
-    List<FacilityBooking> findByFacilityIdAndEndDateTimeAfterAndStartDateTimeBefore(UUID facilityId, OffsetDateTime start, OffsetDateTime end);
     List<FacilityBooking> findByStartDateTimeBetween(OffsetDateTime start, OffsetDateTime end);
+
+    // Status changes move rollup counters by the previous status, so concurrent changes must serialise on the row.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from FacilityBooking b where b.id = :id")
+    Optional<FacilityBooking> findByIdForUpdate(@Param("id") UUID id);
+
+    // Rows are (id, start, end); the availability index only needs the interval, not the entity.
+    @Query("select b.id, b.startDateTime, b.endDateTime from FacilityBooking b " +
+            "where b.facilityId = :facilityId and b.status in :statuses and b.endDateTime > :after")
+    List<Object[]> findLiveIntervals(@Param("facilityId") UUID facilityId,
+                                     @Param("statuses") Collection<BookingStatus> statuses,
+                                     @Param("after") OffsetDateTime after);
+
+    @Modifying
+    @Query(value = "insert into facility_weekly_rollup (week, facility_id, booked_minutes, approved_minutes, bookings, projected_revenue) " +
+            "values (:week, :facilityId, :bookedMinutes, :approvedMinutes, :bookings, :revenue) " +
+            "on conflict (week, facility_id) do update set booked_minutes = facility_weekly_rollup.booked_minutes + excluded.booked_minutes, " +
+            "approved_minutes = facility_weekly_rollup.approved_minutes + excluded.approved_minutes, " +
+            "bookings = facility_weekly_rollup.bookings + excluded.bookings, " +
+            "projected_revenue = facility_weekly_rollup.projected_revenue + excluded.projected_revenue", nativeQuery = true)
+    void addToWeeklyRollup(@Param("week") LocalDate week, @Param("facilityId") UUID facilityId,
+                           @Param("bookedMinutes") long bookedMinutes, @Param("approvedMinutes") long approvedMinutes,
+                           @Param("bookings") int bookings, @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "delete from facility_weekly_rollup", nativeQuery = true)
+    void clearWeeklyRollup();
+
+    // Same split as V23: minutes and revenue go to every UTC week a booking touches, the count to its first week.
+    @Modifying
+    @Query(value = """
+            insert into facility_weekly_rollup (week, facility_id, booked_minutes, approved_minutes, bookings, projected_revenue)
+            select s.week, s.facility_id, sum(s.minutes),
+                   sum(case when s.status = 'APPROVED' then s.minutes else 0 end),
+                   sum(case when s.first then 1 else 0 end),
+                   sum(round(s.minutes * s.price_per_hour / 60, 2))
+            from (
+                select cast(g as date) as week, b.facility_id, b.status, f.price_per_hour,
+                       g = date_trunc('week', b.start_date_time at time zone 'UTC') as first,
+                       cast(floor(extract(epoch from
+                           least(b.end_date_time at time zone 'UTC', g + interval '7 days')
+                           - greatest(b.start_date_time at time zone 'UTC', g)) / 60) as bigint) as minutes
+                from facility_bookings b
+                join facilities f on f.id = b.facility_id
+                cross join lateral generate_series(date_trunc('week', b.start_date_time at time zone 'UTC'),
+                                                   (b.end_date_time at time zone 'UTC') - interval '1 microsecond',
+                                                   interval '7 days') g
+                where b.status in ('PENDING', 'APPROVED') and b.end_date_time > b.start_date_time
+            ) s
+            group by s.week, s.facility_id
+            """, nativeQuery = true)
+    int rebuildWeeklyRollup();
 }
 interface MaintenanceScheduleRepository extends JpaRepository<MaintenanceSchedule, UUID> {
-    List<MaintenanceSchedule> findByFacilityIdAndEndDateTimeAfterAndStartDateTimeBefore(UUID facilityId, OffsetDateTime start, OffsetDateTime end);
+    @Query("select m.id, m.startDateTime, m.endDateTime from MaintenanceSchedule m " +
+            "where m.facilityId = :facilityId and m.endDateTime > :after")
+    List<Object[]> findIntervals(@Param("facilityId") UUID facilityId, @Param("after") OffsetDateTime after);
+
+    // Matches idx_maintenance_facility_period, so this is a single GiST probe.
+    @Query(value = "select exists (select 1 from maintenance_schedules where facility_id = :facilityId " +
+            "and end_date_time > start_date_time " +
+            "and tstzrange(start_date_time, end_date_time) && tstzrange(cast(:start as timestamptz), cast(:end as timestamptz)))",
+            nativeQuery = true)
+    boolean existsOverlap(@Param("facilityId") UUID facilityId, @Param("start") OffsetDateTime start,
+                          @Param("end") OffsetDateTime end);
 }
 
 record FacilityRequest(String name, UUID sportId, String location, Integer capacity, BigDecimal pricePerHour, FacilityStatus status, UUID ownerClubId) {}
 record FacilityBookingRequest(UUID facilityId, UUID requestedByUserId, UUID clubId, OffsetDateTime startDateTime, OffsetDateTime endDateTime, boolean paymentRequired, String notes) {}
 record MaintenanceRequest(UUID facilityId, OffsetDateTime startDateTime, OffsetDateTime endDateTime, String reason) {}
+// busy is base64 of a bitmap with one bit per slot from local midnight: slot n is bit n % 8 (least significant first) of byte n / 8.
+record DayAvailability(LocalDate date, int slots, String busy) {}
+record BookingStatusRequest(BookingStatus status) {}
+record WeekShare(LocalDate week, long minutes, boolean first) {}
+record FacilityAvailability(UUID facilityId, String name, List<DayAvailability> days) {}
+record AvailabilityResponse(LocalDate from, int days, int slotMinutes, ZoneId zone, List<FacilityAvailability> facilities) {}
 
 @Service class FacilityService {
-    private final FacilityRepository facilityRepository; private final FacilityBookingRepository bookingRepository; private final MaintenanceScheduleRepository maintenanceRepository; private final UserRepository userRepository; private final ClubRepository clubRepository;
-    FacilityService(FacilityRepository facilityRepository, FacilityBookingRepository bookingRepository, MaintenanceScheduleRepository maintenanceRepository, UserRepository userRepository, ClubRepository clubRepository) { this.facilityRepository = facilityRepository; this.bookingRepository = bookingRepository; this.maintenanceRepository = maintenanceRepository; this.userRepository = userRepository; this.clubRepository = clubRepository; }
+    private static final String OVERLAP_CONSTRAINT = "facility_bookings_no_overlap";
+    static final int SLOT_MINUTES = 15;
+    static final int MAX_AVAILABILITY_DAYS = 31;
+    static final int MAX_AVAILABILITY_FACILITIES = 200;
+    private final FacilityRepository facilityRepository; private final FacilityBookingRepository bookingRepository; private final MaintenanceScheduleRepository maintenanceRepository; private final UserRepository userRepository; private final ClubRepository clubRepository; private final FacilityAvailabilityIndex availabilityIndex; private final FreeBusyCache freeBusyCache;
+    FacilityService(FacilityRepository facilityRepository, FacilityBookingRepository bookingRepository, MaintenanceScheduleRepository maintenanceRepository, UserRepository userRepository, ClubRepository clubRepository, FacilityAvailabilityIndex availabilityIndex, FreeBusyCache freeBusyCache) { this.facilityRepository = facilityRepository; this.bookingRepository = bookingRepository; this.maintenanceRepository = maintenanceRepository; this.userRepository = userRepository; this.clubRepository = clubRepository; this.availabilityIndex = availabilityIndex; this.freeBusyCache = freeBusyCache; }
     List<Facility> facilities() { return facilityRepository.findAll(); }
     Facility createFacility(FacilityRequest request) { Facility f = new Facility(); f.setName(request.name()); f.setSportId(request.sportId()); f.setLocation(request.location()); f.setCapacity(request.capacity()); f.setPricePerHour(request.pricePerHour()); f.setStatus(request.status()); f.setOwnerClubId(request.ownerClubId()); return facilityRepository.save(f); }
+
+    /**
+     * Conflicts are answered from the in-memory availability index first; the exclusion constraint
+     * on facility_bookings settles races between concurrent requests for the same slot.
+     */
+    @Transactional
     FacilityBooking createBooking(FacilityBookingRequest request) {
-        facilityRepository.findById(request.facilityId()).orElseThrow(() -> new NotFoundException("Facility not found"));
+        requireSlot(request.startDateTime(), request.endDateTime());
+        Facility facility = facilityRepository.findById(request.facilityId()).orElseThrow(() -> new NotFoundException("Facility not found"));
         userRepository.findById(request.requestedByUserId()).orElseThrow(() -> new NotFoundException("User not found"));
         if (request.clubId() != null) clubRepository.findById(request.clubId()).orElseThrow(() -> new NotFoundException("Club not found"));
-        if (!bookingRepository.findByFacilityIdAndEndDateTimeAfterAndStartDateTimeBefore(request.facilityId(), request.startDateTime(), request.endDateTime()).isEmpty()) throw new IllegalArgumentException("Booking conflict detected");
-        if (!maintenanceRepository.findByFacilityIdAndEndDateTimeAfterAndStartDateTimeBefore(request.facilityId(), request.startDateTime(), request.endDateTime()).isEmpty()) throw new IllegalArgumentException("Facility is under maintenance for selected slot");
-        FacilityBooking b = new FacilityBooking(); b.setFacilityId(request.facilityId()); b.setRequestedByUserId(request.requestedByUserId()); b.setClubId(request.clubId()); b.setStartDateTime(request.startDateTime()); b.setEndDateTime(request.endDateTime()); b.setPaymentRequired(request.paymentRequired()); b.setStatus(BookingStatus.PENDING); b.setNotes(request.notes()); return bookingRepository.save(b);
+        IntervalTree.Interval conflict = availabilityIndex.firstConflict(request.facilityId(), request.startDateTime(), request.endDateTime());
+        if (conflict != null && conflict.kind() == IntervalTree.Kind.BOOKING) throw new IllegalArgumentException("Booking conflict detected");
+        if (conflict != null || maintenanceRepository.existsOverlap(request.facilityId(), request.startDateTime(), request.endDateTime())) throw new IllegalArgumentException("Facility is under maintenance for selected slot");
+        FacilityBooking b = new FacilityBooking(); b.setFacilityId(request.facilityId()); b.setRequestedByUserId(request.requestedByUserId()); b.setClubId(request.clubId()); b.setStartDateTime(request.startDateTime()); b.setEndDateTime(request.endDateTime()); b.setPaymentRequired(request.paymentRequired()); b.setStatus(BookingStatus.PENDING); b.setNotes(request.notes());
+        FacilityBooking saved;
+        try {
+            saved = bookingRepository.saveAndFlush(b);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isOverlapViolation(ex)) throw ex;
+            // Another request (possibly on another node) won the slot; resync this facility.
+            availabilityIndex.invalidate(request.facilityId());
+            freeBusyCache.invalidate(request.facilityId());
+            throw new IllegalArgumentException("Booking conflict detected");
+        }
+        applyRollup(saved, saved.getStatus(), facility.getPricePerHour(), 1);
+        AfterCommit.run(() -> {
+            availabilityIndex.addBooking(saved);
+            freeBusyCache.invalidate(saved.getFacilityId());
+        });
+        return saved;
+    }
+
+    @Transactional
+    FacilityBooking updateBookingStatus(UUID bookingId, BookingStatus status) {
+        if (status == null) throw new IllegalArgumentException("Status is required");
+        FacilityBooking booking = bookingRepository.findByIdForUpdate(bookingId).orElseThrow(() -> new NotFoundException("Booking not found"));
+        BookingStatus previous = booking.getStatus();
+        if (previous == status) return booking;
+        if (!previous.canMoveTo(status)) throw new IllegalArgumentException("Cannot change booking from " + previous + " to " + status);
+        BigDecimal pricePerHour = facilityRepository.findById(booking.getFacilityId()).map(Facility::getPricePerHour).orElse(null);
+        applyRollup(booking, previous, pricePerHour, -1);
+        booking.setStatus(status);
+        FacilityBooking saved = bookingRepository.save(booking);
+        applyRollup(saved, status, pricePerHour, 1);
+        AfterCommit.run(() -> {
+            if (!status.isLive()) availabilityIndex.remove(saved.getFacilityId(), saved.getId());
+            freeBusyCache.invalidate(saved.getFacilityId());
+        });
+        return saved;
+    }
+
+    @Transactional
+    int rebuildUtilizationRollup() {
+        bookingRepository.clearWeeklyRollup();
+        return bookingRepository.rebuildWeeklyRollup();
+    }
+
+    @Transactional
+    MaintenanceSchedule createMaintenance(MaintenanceRequest request) {
+        requireSlot(request.startDateTime(), request.endDateTime());
+        MaintenanceSchedule m = new MaintenanceSchedule(); m.setFacilityId(request.facilityId()); m.setStartDateTime(request.startDateTime()); m.setEndDateTime(request.endDateTime()); m.setReason(request.reason());
+        MaintenanceSchedule saved = maintenanceRepository.save(m);
+        AfterCommit.run(() -> {
+            availabilityIndex.addMaintenance(saved);
+            freeBusyCache.invalidate(saved.getFacilityId());
+        });
+        return saved;
     }
-    MaintenanceSchedule createMaintenance(MaintenanceRequest request) { MaintenanceSchedule m = new MaintenanceSchedule(); m.setFacilityId(request.facilityId()); m.setStartDateTime(request.startDateTime()); m.setEndDateTime(request.endDateTime()); m.setReason(request.reason()); return maintenanceRepository.save(m); }
     List<FacilityBooking> bookings(OffsetDateTime start, OffsetDateTime end) { return bookingRepository.findByStartDateTimeBetween(start, end); }
+
+    /**
+     * Free/busy bitmaps of SLOT_MINUTES slots per facility and local day, covering live bookings
+     * and maintenance. Days come from FreeBusyCache; a facility with any missing day is read from
+     * the availability index once for the whole range.
+     */
+    AvailabilityResponse availability(LocalDate from, int days, ZoneId zone, List<UUID> facilityIds) {
+        if (days < 1 || days > MAX_AVAILABILITY_DAYS) throw new IllegalArgumentException("days must be between 1 and " + MAX_AVAILABILITY_DAYS);
+        List<Facility> targets = new ArrayList<>(facilityIds == null || facilityIds.isEmpty() ? facilityRepository.findAll() : facilityRepository.findAllById(facilityIds));
+        if (targets.size() > MAX_AVAILABILITY_FACILITIES) throw new IllegalArgumentException("At most " + MAX_AVAILABILITY_FACILITIES + " facilities per request");
+        targets.sort(Comparator.comparing(Facility::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+        OffsetDateTime rangeStart = from.atStartOfDay(zone).toOffsetDateTime();
+        OffsetDateTime rangeEnd = from.plusDays(days).atStartOfDay(zone).toOffsetDateTime();
+        List<FacilityAvailability> result = new ArrayList<>(targets.size());
+        for (Facility facility : targets) {
+            long generation = freeBusyCache.generation(facility.getId());
+            List<IntervalTree.Interval> intervals = null;
+            List<DayAvailability> dayList = new ArrayList<>(days);
+            for (int i = 0; i < days; i++) {
+                LocalDate date = from.plusDays(i);
+                long dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+                long dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+                byte[] bitmap = freeBusyCache.get(facility.getId(), date, zone, generation);
+                if (bitmap == null) {
+                    if (intervals == null) intervals = availabilityIndex.overlapping(facility.getId(), rangeStart, rangeEnd);
+                    bitmap = busyBitmap(intervals, dayStart, dayEnd);
+                    freeBusyCache.put(facility.getId(), date, zone, generation, bitmap);
+                }
+                dayList.add(new DayAvailability(date, slotCount(dayStart, dayEnd), Base64.getEncoder().encodeToString(bitmap)));
+            }
+            result.add(new FacilityAvailability(facility.getId(), facility.getName(), dayList));
+        }
+        return new AvailabilityResponse(from, days, SLOT_MINUTES, zone, result);
+    }
+
+    // A slot is busy when any interval covers part of it. Days are 92 or 100 slots long across DST changes.
+    static byte[] busyBitmap(List<IntervalTree.Interval> intervals, long dayStart, long dayEnd) {
+        long slotMillis = SLOT_MINUTES * 60_000L;
+        int slots = slotCount(dayStart, dayEnd);
+        byte[] bitmap = new byte[(slots + 7) / 8];
+        for (IntervalTree.Interval interval : intervals) {
+            long start = Math.max(interval.start(), dayStart);
+            long end = Math.min(interval.end(), dayEnd);
+            if (start >= end) continue;
+            int last = (int) Math.min(slots, (end - dayStart + slotMillis - 1) / slotMillis);
+            for (int slot = (int) ((start - dayStart) / slotMillis); slot < last; slot++) {
+                bitmap[slot / 8] |= (byte) (1 << (slot % 8));
+            }
+        }
+        return bitmap;
+    }
+
+    private static int slotCount(long dayStart, long dayEnd) {
+        return (int) ((dayEnd - dayStart) / (SLOT_MINUTES * 60_000L));
+    }
+
+    // Moves the booking's weekly minutes and revenue in facility_weekly_rollup in or out, following V23's split.
+    private void applyRollup(FacilityBooking booking, BookingStatus status, BigDecimal pricePerHour, int sign) {
+        if (!status.isLive()) return;
+        BigDecimal price = pricePerHour == null ? BigDecimal.ZERO : pricePerHour;
+        for (WeekShare share : weekShares(booking.getStartDateTime(), booking.getEndDateTime())) {
+            BigDecimal revenue = price.multiply(BigDecimal.valueOf(share.minutes())).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+            bookingRepository.addToWeeklyRollup(share.week(), booking.getFacilityId(), sign * share.minutes(),
+                    status == BookingStatus.APPROVED ? sign * share.minutes() : 0, share.first() ? sign : 0,
+                    sign < 0 ? revenue.negate() : revenue);
+        }
+    }
+
+    static List<WeekShare> weekShares(OffsetDateTime start, OffsetDateTime end) {
+        LocalDateTime from = start.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        LocalDateTime to = end.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        List<WeekShare> shares = new ArrayList<>();
+        LocalDateTime week = from.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        while (week.isBefore(to)) {
+            LocalDateTime next = week.plusWeeks(1);
+            LocalDateTime segmentStart = from.isAfter(week) ? from : week;
+            LocalDateTime segmentEnd = to.isBefore(next) ? to : next;
+            shares.add(new WeekShare(week.toLocalDate(), Duration.between(segmentStart, segmentEnd).toMinutes(), shares.isEmpty()));
+            week = next;
+        }
+        return shares;
+    }
+
+    private static void requireSlot(OffsetDateTime start, OffsetDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) throw new IllegalArgumentException("End must be after start");
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OVERLAP_CONSTRAINT);
+    }
 }
 
 @RestController @RequestMapping("/api/facilities")
@@ -66,5 +313,8 @@ class FacilityController {
     @PostMapping @PreAuthorize("hasAnyRole('ADMIN','MANAGER')") Facility create(@Valid @RequestBody FacilityRequest request) { return service.createFacility(request); }
     @PostMapping("/bookings") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')") FacilityBooking booking(@Valid @RequestBody FacilityBookingRequest request) { return service.createBooking(request); }
     @GetMapping("/bookings") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')") List<FacilityBooking> bookings(@RequestParam OffsetDateTime start, @RequestParam OffsetDateTime end) { return service.bookings(start, end); }
+    @GetMapping("/availability") @PreAuthorize("hasAnyRole('ADMIN','MANAGER','COACH')") AvailabilityResponse availability(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, @RequestParam(defaultValue = "7") int days, @RequestParam(defaultValue = "UTC") ZoneId zone, @RequestParam(required = false) List<UUID> facilityIds) { return service.availability(from, days, zone, facilityIds); }
+    @PatchMapping("/bookings/{id}/status") @PreAuthorize("hasAnyRole('ADMIN','MANAGER')") FacilityBooking bookingStatus(@PathVariable UUID id, @RequestBody BookingStatusRequest request) { return service.updateBookingStatus(id, request.status()); }
+    @PostMapping("/rollup/rebuild") @PreAuthorize("hasRole('ADMIN')") Map<String, Integer> rebuildRollup() { return Map.of("rows", service.rebuildUtilizationRollup()); }
     @PostMapping("/maintenance") @PreAuthorize("hasAnyRole('ADMIN','MANAGER')") MaintenanceSchedule maintenance(@Valid @RequestBody MaintenanceRequest request) { return service.createMaintenance(request); }
 }
@@ -0,0 +1,69 @@
+package com.sportsms.facility;
+
+import com.sportsms.common.BoundedLruMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Free/busy bitmaps per facility and day. Booking and maintenance writes bump the facility's
+ * generation, which makes its cached days unreachable; the TTL bounds staleness from writes made
+ * on other nodes.
+ */
+@Component
+class FreeBusyCache {
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+    private final Map<Key, Entry> entries;
+
+    @Autowired
+    FreeBusyCache(@Value("${app.facilities.free-busy-cache.max-entries:10000}") int maxEntries,
+                  @Value("${app.facilities.free-busy-cache.ttl-seconds:60}") long ttlSeconds) {
+        this(maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    FreeBusyCache(int maxEntries, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new BoundedLruMap<>(maxEntries);
+    }
+
+    /** Read before building a bitmap, so a write racing the build leaves it under an old generation. */
+    long generation(UUID facilityId) {
+        return generations.getOrDefault(facilityId, 0L);
+    }
+
+    byte[] get(UUID facilityId, LocalDate date, ZoneId zone, long generation) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(new Key(facilityId, date, zone));
+        }
+        if (entry == null || entry.generation() != generation
+                || clock.millis() - entry.builtAt() >= ttl.toMillis()) {
+            return null;
+        }
+        return entry.bitmap();
+    }
+
+    void put(UUID facilityId, LocalDate date, ZoneId zone, long generation, byte[] bitmap) {
+        synchronized (entries) {
+            entries.put(new Key(facilityId, date, zone), new Entry(generation, clock.millis(), bitmap));
+        }
+    }
+
+    void invalidate(UUID facilityId) {
+        generations.merge(facilityId, 1L, Long::sum);
+    }
+
+    private record Key(UUID facilityId, LocalDate date, ZoneId zone) {}
+
+    private record Entry(long generation, long builtAt, byte[] bitmap) {}
+}
@@ -0,0 +1,191 @@
+package com.sportsms.facility;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * AVL tree of half-open {@code [start, end)} intervals ordered by start, where every node also
+ * keeps the largest end in its subtree. Overlap queries skip any subtree whose largest end is
+ * at or before the query start, so a lookup costs O(log n + matches). Not thread-safe.
+ */
+final class IntervalTree {
+    enum Kind { BOOKING, MAINTENANCE }
+
+    record Interval(long start, long end, UUID id, Kind kind) {}
+
+    private static final class Node {
+        final Interval interval;
+        Node left;
+        Node right;
+        long maxEnd;
+        int height = 1;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(Interval interval) {
+        root = insert(root, interval);
+        size++;
+    }
+
+    boolean remove(Interval interval) {
+        int before = size;
+        root = remove(root, interval);
+        return size < before;
+    }
+
+    /** Returns the earliest-starting interval overlapping {@code [start, end)}, or null. */
+    Interval firstOverlap(long start, long end) {
+        return firstOverlap(root, start, end);
+    }
+
+    void forEachOverlap(long start, long end, Consumer<Interval> action) {
+        forEachOverlap(root, start, end, action);
+    }
+
+    private static Interval firstOverlap(Node node, long start, long end) {
+        if (node == null || node.maxEnd <= start) {
+            return null;
+        }
+        Interval found = firstOverlap(node.left, start, end);
+        if (found != null) {
+            return found;
+        }
+        if (node.interval.start() >= end) {
+            return null;
+        }
+        if (start < node.interval.end()) {
+            return node.interval;
+        }
+        return firstOverlap(node.right, start, end);
+    }
+
+    private static void forEachOverlap(Node node, long start, long end, Consumer<Interval> action) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        forEachOverlap(node.left, start, end, action);
+        if (node.interval.start() < end) {
+            if (start < node.interval.end()) {
+                action.accept(node.interval);
+            }
+            forEachOverlap(node.right, start, end, action);
+        }
+    }
+
+    private Node insert(Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.interval);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(Interval a, Interval b) {
+        int cmp = Long.compare(a.start(), b.start());
+        return cmp != 0 ? cmp : a.id().compareTo(b.id());
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.interval.end();
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
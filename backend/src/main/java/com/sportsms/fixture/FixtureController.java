@@ -1,9 +1,15 @@
 package com.sportsms.fixture;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,14 +19,45 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/fixtures")
 public class FixtureController {
     private final FixtureService fixtureService;
+    private final FixtureExporter fixtureExporter;
+    private final ObjectMapper objectMapper;
 
-    public FixtureController(FixtureService fixtureService) {
+    public FixtureController(FixtureService fixtureService, FixtureExporter fixtureExporter, ObjectMapper objectMapper) {
         this.fixtureService = fixtureService;
+        this.fixtureExporter = fixtureExporter;
+        this.objectMapper = objectMapper;
+    }
+
+    // Exclusive with the NDJSON export so a request carrying both parameters is not ambiguous; the export wins.
+    @GetMapping(value = "/public", params = {"limit", "!format"})
+    public FixtureDto.FixturePage pagePublic(
+            @RequestParam(name = "competitionId", required = false) UUID competitionId,
+            @RequestParam(name = "seasonId", required = false) UUID seasonId,
+            @RequestParam(name = "teamId", required = false) UUID teamId,
+            @RequestParam(name = "from", required = false) OffsetDateTime from,
+            @RequestParam(name = "to", required = false) OffsetDateTime to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit") Integer limit) {
+        FixtureService.FixtureSlice slice = fixtureService.page(competitionId, seasonId, teamId, from, to, cursor, limit);
+        return new FixtureDto.FixturePage(slice.fixtures().stream().map(this::toResponse).toList(), slice.nextCursor());
+    }
+
+    @GetMapping(value = "/public", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPublic(
+            @RequestParam(name = "competitionId", required = false) UUID competitionId,
+            @RequestParam(name = "seasonId", required = false) UUID seasonId,
+            @RequestParam(name = "teamId", required = false) UUID teamId,
+            @RequestParam(name = "from", required = false) OffsetDateTime from,
+            @RequestParam(name = "to", required = false) OffsetDateTime to) {
+        StreamingResponseBody body = output -> fixtureExporter.export(competitionId, seasonId, teamId, from, to,
+                fixture -> writeLine(output, fixture));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/public")
@@ -63,6 +100,15 @@ public class FixtureController {
         return toResponse(fixture);
     }
 
+    private void writeLine(OutputStream output, FixtureDto.FixtureResponse fixture) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(fixture));
+            output.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
     private FixtureDto.FixtureResponse toResponse(Fixture fixture) {
         return new FixtureDto.FixtureResponse(
                 fixture.getId(),
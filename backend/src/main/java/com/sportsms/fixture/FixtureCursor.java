@@ -0,0 +1,23 @@
+package com.sportsms.fixture;
+
+import com.sportsms.common.KeysetCursor;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/** Position in the fixture listing ordered by (match date, id), encoded as a {@link KeysetCursor}. */
+public record FixtureCursor(OffsetDateTime matchDate, UUID id) {
+
+    public static FixtureCursor of(Fixture fixture) {
+        return new FixtureCursor(fixture.getMatchDate(), fixture.getId());
+    }
+
+    public static FixtureCursor decode(String cursor) {
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        return new FixtureCursor(keyset.at().atOffset(ZoneOffset.UTC), keyset.id());
+    }
+
+    public String encode() {
+        return new KeysetCursor(matchDate.toInstant(), id).encode();
+    }
+}
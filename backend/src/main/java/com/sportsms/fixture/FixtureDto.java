@@ -52,5 +52,7 @@ public class FixtureDto {
                                   Integer awayScore,
                                   List<GoalEventResponse> goals) {}
 
+    public record FixturePage(List<FixtureResponse> items, String nextCursor) {}
+
     public record GoalEventResponse(UUID id, UUID teamId, String teamName, String scorerName, Integer minute) {}
 }
@@ -0,0 +1,140 @@
+package com.sportsms.fixture;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams the fixture listing straight off a database cursor as flat rows, one fixture at a time,
+ * so exporting a whole archive never holds more than a fetch-size worth of rows in memory.
+ */
+@Component
+public class FixtureExporter {
+    private static final int FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public FixtureExporter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(UUID competitionId, UUID seasonId, UUID teamId, OffsetDateTime from, OffsetDateTime to,
+                       Consumer<FixtureDto.FixtureResponse> sink) {
+        StringBuilder sql = new StringBuilder("""
+                select f.id, f.home_team_id, ht.name, f.away_team_id, aw.name, f.competition_id, c.name,
+                       f.season_id, s.name, f.referee_id, u.full_name, f.venue, f.match_date, f.status,
+                       f.home_score, f.away_score, g.id, g.team_id, gt.name, g.scorer_name, g.minute
+                from fixtures f
+                join teams ht on ht.id = f.home_team_id
+                join teams aw on aw.id = f.away_team_id
+                join competitions c on c.id = f.competition_id
+                join seasons s on s.id = f.season_id
+                left join users u on u.id = f.referee_id
+                left join fixture_goals g on g.fixture_id = f.id
+                left join teams gt on gt.id = g.team_id
+                where 1 = 1
+                """);
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (competitionId != null) {
+            sql.append(" and f.competition_id = :competitionId");
+            params.put("competitionId", competitionId);
+        }
+        if (seasonId != null) {
+            sql.append(" and f.season_id = :seasonId");
+            params.put("seasonId", seasonId);
+        }
+        if (teamId != null) {
+            sql.append(" and (f.home_team_id = :teamId or f.away_team_id = :teamId)");
+            params.put("teamId", teamId);
+        }
+        if (from != null) {
+            sql.append(" and f.match_date >= :fromDate");
+            params.put("fromDate", from);
+        }
+        if (to != null) {
+            sql.append(" and f.match_date <= :toDate");
+            params.put("toDate", to);
+        }
+        sql.append(" order by f.match_date asc, f.id asc, g.minute asc");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.forEach(query::setParameter);
+
+        try (Stream<?> rows = query.getResultStream()) {
+            Iterator<?> iterator = rows.iterator();
+            Object[] current = null;
+            List<FixtureDto.GoalEventResponse> goals = new ArrayList<>();
+            while (iterator.hasNext()) {
+                Object[] row = (Object[]) iterator.next();
+                if (current != null && !current[0].equals(row[0])) {
+                    sink.accept(toResponse(current, goals));
+                    goals = new ArrayList<>();
+                }
+                current = row;
+                if (row[16] != null) {
+                    goals.add(new FixtureDto.GoalEventResponse(uuid(row[16]), uuid(row[17]), (String) row[18],
+                            (String) row[19], toInteger(row[20])));
+                }
+            }
+            if (current != null) {
+                sink.accept(toResponse(current, goals));
+            }
+        }
+    }
+
+    private static FixtureDto.FixtureResponse toResponse(Object[] row, List<FixtureDto.GoalEventResponse> goals) {
+        return new FixtureDto.FixtureResponse(
+                uuid(row[0]),
+                uuid(row[1]),
+                (String) row[2],
+                uuid(row[3]),
+                (String) row[4],
+                uuid(row[5]),
+                (String) row[6],
+                uuid(row[7]),
+                (String) row[8],
+                uuid(row[9]),
+                (String) row[10],
+                (String) row[11],
+                toOffsetDateTime(row[12]),
+                MatchStatus.valueOf(row[13].toString()),
+                toInteger(row[14]),
+                toInteger(row[15]),
+                List.copyOf(goals));
+    }
+
+    private static UUID uuid(Object value) {
+        return value == null ? null : UUID.fromString(value.toString());
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        return ((Timestamp) value).toInstant().atOffset(ZoneOffset.UTC);
+    }
+}
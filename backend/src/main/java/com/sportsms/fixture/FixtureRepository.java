@@ -1,13 +1,23 @@
 package com.sportsms.fixture;
 
+import jakarta.persistence.LockModeType;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface FixtureRepository extends JpaRepository<Fixture, UUID> {
+    // Result changes are applied to the standings as (old, new) deltas, so concurrent updates must serialise on the row.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Fixture f where f.id = :id")
+    Optional<Fixture> findByIdForUpdate(@Param("id") UUID id);
+
     @Query("select f from Fixture f where (:competitionId is null or f.competition.id = :competitionId) " +
             "and (:seasonId is null or f.season.id = :seasonId) " +
             "and (:teamId is null or f.homeTeam.id = :teamId or f.awayTeam.id = :teamId) " +
@@ -18,4 +28,41 @@ public interface FixtureRepository extends JpaRepository<Fixture, UUID> {
                                  @Param("teamId") UUID teamId,
                                  @Param("fromDate") OffsetDateTime fromDate,
                                  @Param("toDate") OffsetDateTime toDate);
+
+    /**
+     * Same filter as {@link #filterFixtures}, but fetches everything the fixture listing renders
+     * (teams, competition, season, referee and goals with their team) in the same statement,
+     * so the number of queries does not grow with the number of fixtures returned.
+     */
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam", "competition", "season", "referee", "goals", "goals.team"})
+    @Query("select f from Fixture f where (:competitionId is null or f.competition.id = :competitionId) " +
+            "and (:seasonId is null or f.season.id = :seasonId) " +
+            "and (:teamId is null or f.homeTeam.id = :teamId or f.awayTeam.id = :teamId) " +
+            "and (:fromDate is null or f.matchDate >= :fromDate) " +
+            "and (:toDate is null or f.matchDate <= :toDate)")
+    List<Fixture> findListing(@Param("competitionId") UUID competitionId,
+                              @Param("seasonId") UUID seasonId,
+                              @Param("teamId") UUID teamId,
+                              @Param("fromDate") OffsetDateTime fromDate,
+                              @Param("toDate") OffsetDateTime toDate);
+
+    @Query("select f.id from Fixture f where (:competitionId is null or f.competition.id = :competitionId) " +
+            "and (:seasonId is null or f.season.id = :seasonId) " +
+            "and (:teamId is null or f.homeTeam.id = :teamId or f.awayTeam.id = :teamId) " +
+            "and (:fromDate is null or f.matchDate >= :fromDate) " +
+            "and (:toDate is null or f.matchDate <= :toDate) " +
+            "and (:afterDate is null or f.matchDate > :afterDate or (f.matchDate = :afterDate and f.id > :afterId)) " +
+            "order by f.matchDate asc, f.id asc")
+    List<UUID> findPageIds(@Param("competitionId") UUID competitionId,
+                           @Param("seasonId") UUID seasonId,
+                           @Param("teamId") UUID teamId,
+                           @Param("fromDate") OffsetDateTime fromDate,
+                           @Param("toDate") OffsetDateTime toDate,
+                           @Param("afterDate") OffsetDateTime afterDate,
+                           @Param("afterId") UUID afterId,
+                           Pageable pageable);
+
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam", "competition", "season", "referee", "goals", "goals.team"})
+    @Query("select f from Fixture f where f.id in :ids order by f.matchDate asc, f.id asc")
+    List<Fixture> findListingByIds(@Param("ids") List<UUID> ids);
 }
@@ -0,0 +1,29 @@
+package com.sportsms.fixture;
+
+import java.util.UUID;
+
+public record FixtureResult(UUID competitionId,
+                            UUID seasonId,
+                            UUID homeTeamId,
+                            UUID awayTeamId,
+                            int homeScore,
+                            int awayScore) {
+
+    /**
+     * Snapshot of the part of a fixture that counts towards the league table,
+     * or {@code null} when the fixture is not a finished match with a score.
+     */
+    public static FixtureResult of(Fixture fixture) {
+        if (fixture.getStatus() != MatchStatus.FINISHED
+                || fixture.getHomeScore() == null || fixture.getAwayScore() == null) {
+            return null;
+        }
+        return new FixtureResult(
+                fixture.getCompetition().getId(),
+                fixture.getSeason().getId(),
+                fixture.getHomeTeam().getId(),
+                fixture.getAwayTeam().getId(),
+                fixture.getHomeScore(),
+                fixture.getAwayScore());
+    }
+}
@@ -5,6 +5,7 @@ import com.sportsms.competition.CompetitionRepository;
 import com.sportsms.competition.Season;
 import com.sportsms.competition.SeasonRepository;
 import com.sportsms.common.NotFoundException;
+import com.sportsms.standings.StandingsService;
 import com.sportsms.team.Team;
 import com.sportsms.team.TeamRepository;
 import com.sportsms.user.User;
@@ -13,46 +14,79 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class FixtureService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final FixtureRepository fixtureRepository;
     private final FixtureGoalRepository fixtureGoalRepository;
     private final TeamRepository teamRepository;
     private final CompetitionRepository competitionRepository;
     private final SeasonRepository seasonRepository;
     private final UserRepository userRepository;
+    private final StandingsService standingsService;
 
     public FixtureService(FixtureRepository fixtureRepository,
                           FixtureGoalRepository fixtureGoalRepository,
                           TeamRepository teamRepository,
                           CompetitionRepository competitionRepository,
                           SeasonRepository seasonRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          StandingsService standingsService) {
         this.fixtureRepository = fixtureRepository;
         this.fixtureGoalRepository = fixtureGoalRepository;
         this.teamRepository = teamRepository;
         this.competitionRepository = competitionRepository;
         this.seasonRepository = seasonRepository;
         this.userRepository = userRepository;
+        this.standingsService = standingsService;
     }
 
     public List<Fixture> list(UUID competitionId, UUID seasonId, UUID teamId, OffsetDateTime from, OffsetDateTime to) {
-        return fixtureRepository.filterFixtures(competitionId, seasonId, teamId, from, to);
+        return fixtureRepository.findListing(competitionId, seasonId, teamId, from, to);
+    }
+
+    public FixtureSlice page(UUID competitionId, UUID seasonId, UUID teamId, OffsetDateTime from, OffsetDateTime to,
+                             String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        FixtureCursor after = cursor == null || cursor.isBlank() ? null : FixtureCursor.decode(cursor);
+        // One extra id tells us whether another page follows without a count query.
+        List<UUID> ids = fixtureRepository.findPageIds(competitionId, seasonId, teamId, from, to,
+                after != null ? after.matchDate() : null, after != null ? after.id() : null,
+                PageRequest.of(0, size + 1));
+        boolean hasMore = ids.size() > size;
+        List<Fixture> fixtures = ids.isEmpty()
+                ? List.of()
+                : fixtureRepository.findListingByIds(hasMore ? ids.subList(0, size) : ids);
+        String nextCursor = hasMore && !fixtures.isEmpty()
+                ? FixtureCursor.of(fixtures.get(fixtures.size() - 1)).encode()
+                : null;
+        return new FixtureSlice(fixtures, nextCursor);
     }
 
+    @Transactional
     public Fixture create(FixtureDto.FixtureCreateRequest request) {
         Fixture fixture = new Fixture();
         applyCreateRequest(fixture, request);
-        return fixtureRepository.save(fixture);
+        Fixture saved = fixtureRepository.save(fixture);
+        standingsService.applyResultChange(null, FixtureResult.of(saved));
+        return saved;
     }
 
+    @Transactional
     public Fixture update(UUID id, FixtureDto.FixtureRequest request) {
-        Fixture fixture = fixtureRepository.findById(id)
+        Fixture fixture = fixtureRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException("Fixture not found"));
+        FixtureResult previous = FixtureResult.of(fixture);
         applyRequest(fixture, request);
-        return fixtureRepository.save(fixture);
+        Fixture saved = fixtureRepository.save(fixture);
+        standingsService.applyResultChange(previous, FixtureResult.of(saved));
+        return saved;
     }
 
     private void applyCreateRequest(Fixture fixture, FixtureDto.FixtureCreateRequest request) {
@@ -127,4 +161,6 @@ public class FixtureService {
             fixture.setReferee(null);
         }
     }
+
+    public record FixtureSlice(List<Fixture> fixtures, String nextCursor) {}
 }
@@ -3,8 +3,12 @@ package com.sportsms.post;
 import jakarta.validation.Valid;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,9 +26,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/posts")
 public class PostController {
     private final PostService postService;
+    private final long publicMaxAgeSeconds;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService,
+                          @Value("${app.posts.read-cache.public-max-age-seconds:30}") long publicMaxAgeSeconds) {
         this.postService = postService;
+        this.publicMaxAgeSeconds = publicMaxAgeSeconds;
     }
 
     @GetMapping("/published")
@@ -36,12 +43,38 @@ public class PostController {
             @RequestParam(defaultValue = "10") int size) {
         Page<Post> posts = postService.searchPublished(keyword, startDate, endDate,
                 PageRequest.of(page, size));
-        return posts.map(this::toResponse);
+        return posts.map(PostService::toResponse);
+    }
+
+    @GetMapping(value = "/published", params = "limit")
+    public ResponseEntity<PostDto.PostSlice> feedPublished(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Instant startDate,
+            @RequestParam(required = false) Instant endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "limit") Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (!postService.servesLatestFromCache(keyword, startDate, endDate, cursor, limit, includeTotal)) {
+            return ResponseEntity.ok(toSlice(postService.feed(PostStatus.PUBLISHED, keyword, startDate, endDate,
+                    cursor, limit, includeTotal)));
+        }
+        PostDto.PostSlice latest = postService.latestPublished(limit);
+        Instant lastModified = latest.items().stream()
+                .map(PostDto.PostResponse::updatedAt)
+                .reduce(postService.publishedChangedAt(), (a, b) -> a.isAfter(b) ? a : b);
+        return ResponseEntity.ok()
+                .cacheControl(publicCache())
+                .lastModified(lastModified)
+                .body(latest);
     }
 
     @GetMapping("/published/{id}")
-    public PostDto.PostResponse getPublished(@PathVariable("id") UUID id) {
-        return toResponse(postService.getPublished(id));
+    public ResponseEntity<PostDto.PostResponse> getPublished(@PathVariable("id") UUID id) {
+        PostDto.PostResponse post = postService.getPublishedResponse(id);
+        return ResponseEntity.ok()
+                .cacheControl(publicCache())
+                .lastModified(post.updatedAt())
+                .body(post);
     }
 
     @GetMapping
@@ -53,26 +86,37 @@ public class PostController {
             @RequestParam(defaultValue = "10") int size) {
         Page<Post> posts = postService.searchAll(keyword, status,
                 PageRequest.of(page, size));
-        return posts.map(this::toResponse);
+        return posts.map(PostService::toResponse);
+    }
+
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ADMIN')")
+    public PostDto.PostSlice feedAll(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) PostStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "limit") Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return toSlice(postService.feed(status, keyword, null, null, cursor, limit, includeTotal));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public PostDto.PostResponse create(@Valid @RequestBody PostDto.PostRequest request, Authentication authentication) {
         Post post = postService.create(request, authentication.getName());
-        return toResponse(post);
+        return PostService.toResponse(post);
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public PostDto.PostResponse update(@PathVariable("id") UUID id, @Valid @RequestBody PostDto.PostRequest request) {
-        return toResponse(postService.update(id, request));
+        return PostService.toResponse(postService.update(id, request));
     }
 
     @PatchMapping("/{id}/publish")
     @PreAuthorize("hasRole('ADMIN')")
     public PostDto.PostResponse publish(@PathVariable("id") UUID id, @RequestParam(name = "publish") boolean publish) {
-        return toResponse(postService.publish(id, publish));
+        return PostService.toResponse(postService.publish(id, publish));
     }
 
     @DeleteMapping("/{id}")
@@ -81,16 +125,12 @@ public class PostController {
         postService.delete(id);
     }
 
-    private PostDto.PostResponse toResponse(Post post) {
-        return new PostDto.PostResponse(
-                post.getId(),
-                post.getTitle(),
-                post.getContent(),
-                post.getCoverImageUrl(),
-                post.getAuthor() != null ? post.getAuthor().getId() : null,
-                post.getAuthor() != null ? post.getAuthor().getFullName() : null,
-                post.getStatus(),
-                post.getCreatedAt(),
-                post.getUpdatedAt());
+    private PostDto.PostSlice toSlice(PostService.PostSlice slice) {
+        return new PostDto.PostSlice(slice.posts().stream().map(PostService::toResponse).toList(),
+                slice.nextCursor(), slice.approximateTotal());
+    }
+
+    private CacheControl publicCache() {
+        return CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
     }
 }
@@ -0,0 +1,95 @@
+package com.sportsms.post;
+
+import com.sportsms.common.BoundedLruMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Approximate result counts for post searches, keyed by status and search bucket and recomputed
+ * at most once per TTL. Only callers that explicitly ask for a total ever pay for a count, and when
+ * an entry expires under load one caller recounts while the others wait for its result.
+ */
+@Component
+public class PostCountCache {
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<Key, Entry> entries;
+    private final Map<Key, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PostCountCache(@Value("${app.posts.count-cache.max-entries:1024}") int maxEntries,
+                          @Value("${app.posts.count-cache.ttl-seconds:60}") long ttlSeconds) {
+        this(maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    PostCountCache(int maxEntries, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new BoundedLruMap<>(maxEntries);
+    }
+
+    public long count(Key key, LongSupplier counter) {
+        Long cached = fresh(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            // The previous recount may have finished between the lookup above and claiming the key.
+            Long recounted = fresh(key);
+            long count = recounted != null ? recounted : counter.getAsLong();
+            if (recounted == null) {
+                synchronized (entries) {
+                    entries.put(key, new Entry(count, clock.instant()));
+                }
+            }
+            mine.complete(count);
+            return count;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Long fresh(Key key) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.computedAt().plus(ttl).isAfter(now) ? entry.count() : null;
+        }
+    }
+
+    private static long await(CompletableFuture<Long> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * @param bucket the normalised search (prefix query, or the raw keyword when it has no words),
+     *               so differently spelled searches for the same words share one count
+     */
+    public record Key(PostStatus status, String bucket, Instant startDate, Instant endDate) {}
+
+    private record Entry(long count, Instant computedAt) {}
+}
@@ -0,0 +1,22 @@
+package com.sportsms.post;
+
+import com.sportsms.common.KeysetCursor;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Position in a post feed ordered newest first by (created at, id), encoded as a {@link KeysetCursor}. */
+public record PostCursor(Instant createdAt, UUID id) {
+
+    public static PostCursor of(Post post) {
+        return new PostCursor(post.getCreatedAt(), post.getId());
+    }
+
+    public static PostCursor decode(String cursor) {
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        return new PostCursor(keyset.at(), keyset.id());
+    }
+
+    public String encode() {
+        return new KeysetCursor(createdAt, id).encode();
+    }
+}
@@ -3,12 +3,15 @@ package com.sportsms.post;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public class PostDto {
     public record PostResponse(UUID id, String title, String content, String coverImageUrl,
                                UUID authorId, String authorName, PostStatus status,
-                               Instant createdAt, Instant updatedAt) {}
+                               Instant createdAt, Instant updatedAt, int commentCount) {}
+
+    public record PostSlice(List<PostResponse> items, String nextCursor, Long approximateTotal) {}
 
     public record PostRequest(@NotBlank String title,
                               @NotBlank String content,
@@ -1,37 +1,51 @@
 package com.sportsms.post;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface PostRepository extends JpaRepository<Post, UUID> {
+    @Modifying
+    @Query(value = "update posts set comment_count = greatest(0, comment_count + :delta) where id = :postId",
+            nativeQuery = true)
+    int adjustCommentCount(@Param("postId") UUID postId, @Param("delta") int delta);
+
+    @Query("select p.commentCount from Post p where p.id = :postId")
+    Optional<Integer> findCommentCount(@Param("postId") UUID postId);
+
+    // A keyword matches through the full-text index (whole words and word prefixes, ranked) or,
+    // for fragments inside a word, through the trigram index on the title.
     @Query(value = """
             select p.*
             from posts p
             where p.status = 'PUBLISHED'
               and (:keyword is null
-                   or p.title ilike concat('%', :keyword, '%')
-                   or p.content ilike concat('%', :keyword, '%'))
+                   or p.search_vector @@ to_tsquery('english', :tsquery)
+                   or p.title ilike concat('%', :keyword, '%'))
               and p.created_at >= coalesce(cast(:startDate as timestamptz), cast('-infinity' as timestamptz))
               and p.created_at <= coalesce(cast(:endDate as timestamptz), cast('infinity' as timestamptz))
-            order by p.created_at desc
+            order by coalesce(ts_rank(p.search_vector, to_tsquery('english', :tsquery)), 0) desc, p.created_at desc
             """,
             countQuery = """
                     select count(*)
                     from posts p
                     where p.status = 'PUBLISHED'
                       and (:keyword is null
-                           or p.title ilike concat('%', :keyword, '%')
-                           or p.content ilike concat('%', :keyword, '%'))
+                           or p.search_vector @@ to_tsquery('english', :tsquery)
+                           or p.title ilike concat('%', :keyword, '%'))
                       and p.created_at >= coalesce(cast(:startDate as timestamptz), cast('-infinity' as timestamptz))
                       and p.created_at <= coalesce(cast(:endDate as timestamptz), cast('infinity' as timestamptz))
                     """,
             nativeQuery = true)
     Page<Post> searchPublished(@Param("keyword") String keyword,
+                               @Param("tsquery") String tsquery,
                                @Param("startDate") Instant startDate,
                                @Param("endDate") Instant endDate,
                                Pageable pageable);
@@ -41,20 +55,63 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
             from posts p
             where (:status is null or p.status = :status)
               and (:keyword is null
-                   or p.title ilike concat('%', :keyword, '%')
-                   or p.content ilike concat('%', :keyword, '%'))
-            order by p.created_at desc
+                   or p.search_vector @@ to_tsquery('english', :tsquery)
+                   or p.title ilike concat('%', :keyword, '%'))
+            order by coalesce(ts_rank(p.search_vector, to_tsquery('english', :tsquery)), 0) desc, p.created_at desc
             """,
             countQuery = """
                     select count(*)
                     from posts p
                     where (:status is null or p.status = :status)
                       and (:keyword is null
-                           or p.title ilike concat('%', :keyword, '%')
-                           or p.content ilike concat('%', :keyword, '%'))
+                           or p.search_vector @@ to_tsquery('english', :tsquery)
+                           or p.title ilike concat('%', :keyword, '%'))
                     """,
             nativeQuery = true)
     Page<Post> searchAll(@Param("keyword") String keyword,
+                         @Param("tsquery") String tsquery,
                          @Param("status") String status,
                          Pageable pageable);
+
+    // Keyset page of the newest-first feed; served by idx_posts_status_created_id without a count.
+    @Query(value = """
+            select p.*
+            from posts p
+            where (:status is null or p.status = :status)
+              and (:keyword is null
+                   or p.search_vector @@ to_tsquery('english', :tsquery)
+                   or p.title ilike concat('%', :keyword, '%'))
+              and p.created_at >= coalesce(cast(:startDate as timestamptz), cast('-infinity' as timestamptz))
+              and p.created_at <= coalesce(cast(:endDate as timestamptz), cast('infinity' as timestamptz))
+              and (cast(:afterCreatedAt as timestamptz) is null
+                   or (p.created_at, p.id) < (cast(:afterCreatedAt as timestamptz), cast(:afterId as uuid)))
+            order by p.created_at desc, p.id desc
+            limit :limit
+            """,
+            nativeQuery = true)
+    List<Post> findFeedSlice(@Param("status") String status,
+                             @Param("keyword") String keyword,
+                             @Param("tsquery") String tsquery,
+                             @Param("startDate") Instant startDate,
+                             @Param("endDate") Instant endDate,
+                             @Param("afterCreatedAt") Instant afterCreatedAt,
+                             @Param("afterId") UUID afterId,
+                             @Param("limit") int limit);
+
+    @Query(value = """
+            select count(*)
+            from posts p
+            where (:status is null or p.status = :status)
+              and (:keyword is null
+                   or p.search_vector @@ to_tsquery('english', :tsquery)
+                   or p.title ilike concat('%', :keyword, '%'))
+              and p.created_at >= coalesce(cast(:startDate as timestamptz), cast('-infinity' as timestamptz))
+              and p.created_at <= coalesce(cast(:endDate as timestamptz), cast('infinity' as timestamptz))
+            """,
+            nativeQuery = true)
+    long countFeed(@Param("status") String status,
+                   @Param("keyword") String keyword,
+                   @Param("tsquery") String tsquery,
+                   @Param("startDate") Instant startDate,
+                   @Param("endDate") Instant endDate);
 }
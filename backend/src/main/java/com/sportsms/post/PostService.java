@@ -2,29 +2,113 @@ package com.sportsms.post;
 
 import com.sportsms.common.NotFoundException;
 import com.sportsms.user.User;
-import com.sportsms.user.UserRepository;
+import com.sportsms.user.UserLookupCache;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PostService {
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
+
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final PostCountCache postCountCache;
+    private final PublishedPostCache publishedPostCache;
 
-    public PostService(PostRepository postRepository, UserRepository userRepository) {
+    public PostService(PostRepository postRepository, UserLookupCache userLookupCache, PostCountCache postCountCache,
+                       PublishedPostCache publishedPostCache) {
         this.postRepository = postRepository;
-        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.postCountCache = postCountCache;
+        this.publishedPostCache = publishedPostCache;
     }
 
     public Page<Post> searchPublished(String keyword, Instant startDate, Instant endDate, Pageable pageable) {
-        return postRepository.searchPublished(normalizeKeyword(keyword), startDate, endDate, pageable);
+        String normalized = normalizeKeyword(keyword);
+        return postRepository.searchPublished(normalized, prefixQuery(normalized), startDate, endDate, pageable);
     }
 
     public Page<Post> searchAll(String keyword, PostStatus status, Pageable pageable) {
-        return postRepository.searchAll(normalizeKeyword(keyword), status != null ? status.name() : null, pageable);
+        String normalized = normalizeKeyword(keyword);
+        return postRepository.searchAll(normalized, prefixQuery(normalized), status != null ? status.name() : null, pageable);
+    }
+
+    /**
+     * Newest-first keyset page without a count query. The total is only computed, approximately
+     * and through {@link PostCountCache}, when {@code includeTotal} is set.
+     */
+    public PostSlice feed(PostStatus status, String keyword, Instant startDate, Instant endDate,
+                          String cursor, Integer limit, boolean includeTotal) {
+        int size = limit == null ? DEFAULT_FEED_SIZE : Math.max(1, Math.min(limit, MAX_FEED_SIZE));
+        PostCursor after = cursor == null || cursor.isBlank() ? null : PostCursor.decode(cursor);
+        String normalized = normalizeKeyword(keyword);
+        String tsquery = prefixQuery(normalized);
+        String statusName = status != null ? status.name() : null;
+        // One extra row tells us whether another page follows.
+        List<Post> posts = postRepository.findFeedSlice(statusName, normalized, tsquery, startDate, endDate,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, size + 1);
+        String nextCursor = null;
+        if (posts.size() > size) {
+            posts = posts.subList(0, size);
+            nextCursor = PostCursor.of(posts.get(size - 1)).encode();
+        }
+        Long approximateTotal = null;
+        if (includeTotal) {
+            PostCountCache.Key key = new PostCountCache.Key(status, tsquery != null ? tsquery : normalized, startDate, endDate);
+            approximateTotal = postCountCache.count(key,
+                    () -> postRepository.countFeed(statusName, normalized, tsquery, startDate, endDate));
+        }
+        return new PostSlice(posts, nextCursor, approximateTotal);
+    }
+
+    /**
+     * First page of the public feed, served from {@link PublishedPostCache}. Callers with a cursor,
+     * filters, a total or a page larger than the cached feed go through {@link #feed}.
+     */
+    public PostDto.PostSlice latestPublished(int limit) {
+        int size = Math.max(1, Math.min(limit, publishedPostCache.feedSize()));
+        List<PostDto.PostResponse> newest = publishedPostCache.feed();
+        if (newest == null) {
+            long generation = publishedPostCache.generation();
+            newest = postRepository.findFeedSlice(PostStatus.PUBLISHED.name(), null, null, null, null, null, null,
+                    publishedPostCache.feedSize() + 1).stream().map(PostService::toResponse).toList();
+            publishedPostCache.putFeed(generation, newest);
+        }
+        if (newest.size() <= size) {
+            return new PostDto.PostSlice(newest, null, null);
+        }
+        PostDto.PostResponse last = newest.get(size - 1);
+        return new PostDto.PostSlice(newest.subList(0, size), new PostCursor(last.createdAt(), last.id()).encode(), null);
+    }
+
+    public boolean servesLatestFromCache(String keyword, Instant startDate, Instant endDate, String cursor,
+                                         Integer limit, boolean includeTotal) {
+        return normalizeKeyword(keyword) == null && startDate == null && endDate == null
+                && (cursor == null || cursor.isBlank()) && !includeTotal
+                && limit != null && limit <= publishedPostCache.feedSize();
+    }
+
+    public Instant publishedChangedAt() {
+        return publishedPostCache.changedAt();
+    }
+
+    public PostDto.PostResponse getPublishedResponse(UUID id) {
+        PostDto.PostResponse cached = publishedPostCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = publishedPostCache.generation();
+        PostDto.PostResponse response = toResponse(getPublished(id));
+        publishedPostCache.put(generation, response);
+        return response;
     }
 
     public Post getPublished(UUID id) {
@@ -42,7 +126,8 @@ public class PostService {
     }
 
     public Post create(PostDto.PostRequest request, String authorEmail) {
-        User author = userRepository.findByEmail(authorEmail)
+        User author = userLookupCache.findByEmail(authorEmail)
+                .map(UserLookupCache.CachedUser::toUser)
                 .orElseThrow(() -> new NotFoundException("Author not found"));
         Post post = new Post();
         post.setTitle(request.title());
@@ -52,7 +137,11 @@ public class PostService {
         post.setStatus(request.status());
         post.setCreatedAt(Instant.now());
         post.setUpdatedAt(Instant.now());
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        if (saved.getStatus() == PostStatus.PUBLISHED) {
+            publishedPostCache.invalidate(null);
+        }
+        return saved;
     }
 
     public Post update(UUID id, PostDto.PostRequest request) {
@@ -62,14 +151,18 @@ public class PostService {
         post.setCoverImageUrl(request.coverImageUrl());
         post.setStatus(request.status());
         post.setUpdatedAt(Instant.now());
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        publishedPostCache.invalidate(id);
+        return saved;
     }
 
     public Post publish(UUID id, boolean publish) {
         Post post = getById(id);
         post.setStatus(publish ? PostStatus.PUBLISHED : PostStatus.DRAFT);
         post.setUpdatedAt(Instant.now());
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        publishedPostCache.invalidate(id);
+        return saved;
     }
 
     public void delete(UUID id) {
@@ -77,6 +170,7 @@ public class PostService {
             throw new NotFoundException("Post not found");
         }
         postRepository.deleteById(id);
+        publishedPostCache.invalidate(id);
     }
 
     private String normalizeKeyword(String keyword) {
@@ -85,4 +179,35 @@ public class PostService {
         }
         return keyword.trim();
     }
+
+    /**
+     * Turns free text into a {@code to_tsquery} expression that requires every word, each as a
+     * prefix, so "golde goal" finds "golden goal". Returns {@code null} when nothing searchable is left.
+     */
+    static String prefixQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String query = Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    static PostDto.PostResponse toResponse(Post post) {
+        return new PostDto.PostResponse(
+                post.getId(),
+                post.getTitle(),
+                post.getContent(),
+                post.getCoverImageUrl(),
+                post.getAuthor() != null ? post.getAuthor().getId() : null,
+                post.getAuthor() != null ? post.getAuthor().getFullName() : null,
+                post.getStatus(),
+                post.getCreatedAt(),
+                post.getUpdatedAt(),
+                post.getCommentCount());
+    }
+
+    public record PostSlice(List<Post> posts, String nextCursor, Long approximateTotal) {}
 }
@@ -0,0 +1,76 @@
+package com.sportsms.post;
+
+import com.sportsms.common.BoundedLruMap;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of rendered published posts by id, plus the newest page of the public feed.
+ * Every post write invalidates through {@link #invalidate(UUID)}, which bumps a generation; a
+ * reader only stores what it loaded if no write happened in between, so a slow read can never
+ * put back a post that was just edited or unpublished.
+ */
+@Component
+public class PublishedPostCache {
+    private final int feedSize;
+    private final Map<UUID, PostDto.PostResponse> posts;
+    private long generation;
+    private List<PostDto.PostResponse> feed;
+    private volatile Instant changedAt = Instant.now();
+
+    public PublishedPostCache(@Value("${app.posts.read-cache.max-entries:1000}") int maxEntries,
+                              @Value("${app.posts.read-cache.feed-size:50}") int feedSize) {
+        this.feedSize = feedSize;
+        this.posts = new BoundedLruMap<>(maxEntries);
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized PostDto.PostResponse get(UUID id) {
+        return posts.get(id);
+    }
+
+    public synchronized void put(long loadedAt, PostDto.PostResponse post) {
+        if (loadedAt == generation) {
+            posts.put(post.id(), post);
+        }
+    }
+
+    /**
+     * The newest published posts, up to {@link #feedSize()} plus one so callers can tell whether
+     * an older page exists; {@code null} when not cached.
+     */
+    public synchronized List<PostDto.PostResponse> feed() {
+        return feed;
+    }
+
+    public synchronized void putFeed(long loadedAt, List<PostDto.PostResponse> newest) {
+        if (loadedAt == generation) {
+            feed = List.copyOf(newest);
+        }
+    }
+
+    public synchronized void invalidate(UUID id) {
+        generation++;
+        if (id != null) {
+            posts.remove(id);
+        }
+        feed = null;
+        changedAt = Instant.now();
+    }
+
+    public int feedSize() {
+        return feedSize;
+    }
+
+    /** When a post was last written through this instance, or when it started. */
+    public Instant changedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sportsms.standings;
+
+import com.sportsms.common.BoundedLruMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of computed league tables keyed by competition and season.
+ * Every table has a version counter that is bumped whenever a fixture write may have
+ * changed it; a cached table is only served while its version is still current. Team
+ * writes bump a global version, since a team can appear in any table. Counters of deleted
+ * competitions and seasons are dropped so the version maps only hold live tables.
+ */
+@Component
+public class StandingsCache {
+    private final int maxEntries;
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final Map<TableKey, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, AtomicLong> competitionVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<TableKey, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StandingsCache(@Value("${app.standings.cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new BoundedLruMap<>(maxEntries, evictions::increment);
+    }
+
+    public long version(UUID competitionId, UUID seasonId) {
+        return current(versions.get(new TableKey(competitionId, seasonId)))
+                + current(competitionVersions.get(competitionId)) + globalVersion.get();
+    }
+
+    public String etag(long version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    public StandingsDto.StandingsResponse get(UUID competitionId, UUID seasonId, long version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(new TableKey(competitionId, seasonId));
+        }
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            return entry.table();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(UUID competitionId, UUID seasonId, long version, StandingsDto.StandingsResponse table) {
+        TableKey key = new TableKey(competitionId, seasonId);
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing == null || existing.version() < version) {
+                entries.put(key, new Entry(version, table));
+            }
+        }
+    }
+
+    public void bump(UUID competitionId, UUID seasonId) {
+        versions.computeIfAbsent(new TableKey(competitionId, seasonId), key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void bumpCompetition(UUID competitionId) {
+        competitionVersions.computeIfAbsent(competitionId, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void bumpAll() {
+        globalVersion.incrementAndGet();
+    }
+
+    public void forgetCompetition(UUID competitionId) {
+        forget(key -> key.competitionId().equals(competitionId));
+        competitionVersions.remove(competitionId);
+    }
+
+    public void forgetSeason(UUID seasonId) {
+        forget(key -> key.seasonId().equals(seasonId));
+    }
+
+    private void forget(Predicate<TableKey> matches) {
+        // Dropping a counter lowers the version of its tables, so move everything forward first:
+        // a table cached under the old version by a racing reader can then never be served again.
+        globalVersion.incrementAndGet();
+        versions.keySet().removeIf(matches);
+        synchronized (entries) {
+            entries.keySet().removeIf(matches);
+        }
+    }
+
+    public StandingsDto.CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new StandingsDto.CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, maxEntries);
+    }
+
+    private static long current(AtomicLong version) {
+        return version != null ? version.get() : 0L;
+    }
+
+    private record TableKey(UUID competitionId, UUID seasonId) {}
+
+    private record Entry(long version, StandingsDto.StandingsResponse table) {}
+}
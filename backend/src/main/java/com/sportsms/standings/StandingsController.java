@@ -1,8 +1,12 @@
 package com.sportsms.standings;
 
 import java.util.UUID;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,8 +20,25 @@ public class StandingsController {
     }
 
     @GetMapping("/{competitionId}/{seasonId}")
-    public StandingsDto.StandingsResponse getStandings(@PathVariable("competitionId") UUID competitionId,
-                                                       @PathVariable("seasonId") UUID seasonId) {
-        return standingsService.getStandings(competitionId, seasonId);
+    public ResponseEntity<StandingsDto.StandingsResponse> getStandings(@PathVariable("competitionId") UUID competitionId,
+                                                                       @PathVariable("seasonId") UUID seasonId) {
+        StandingsService.VersionedStandings standings = standingsService.getStandings(competitionId, seasonId);
+        return ResponseEntity.ok()
+                .eTag(standings.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(standings.table());
+    }
+
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public StandingsDto.CacheStats cacheStats() {
+        return standingsService.cacheStats();
+    }
+
+    @PostMapping("/{competitionId}/{seasonId}/rebuild")
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+    public StandingsDto.StandingsResponse rebuild(@PathVariable("competitionId") UUID competitionId,
+                                                  @PathVariable("seasonId") UUID seasonId) {
+        return standingsService.rebuild(competitionId, seasonId);
     }
 }
@@ -8,4 +8,6 @@ public class StandingsDto {
                                int goalsFor, int goalsAgainst, int goalDifference, int points) {}
 
     public record StandingsResponse(UUID competitionId, UUID seasonId, List<TeamStanding> table) {}
+
+    public record CacheStats(long hits, long misses, long evictions, int size, int maxEntries) {}
 }
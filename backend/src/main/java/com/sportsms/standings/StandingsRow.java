@@ -0,0 +1,139 @@
+package com.sportsms.standings;
+
+import com.sportsms.team.Team;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.util.UUID;
+
+@Entity
+@Table(name = "standings_rows")
+public class StandingsRow {
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "competition_id", nullable = false)
+    private UUID competitionId;
+
+    @Column(name = "season_id", nullable = false)
+    private UUID seasonId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", nullable = false)
+    private Team team;
+
+    @Column(nullable = false)
+    private int played;
+
+    @Column(nullable = false)
+    private int won;
+
+    @Column(nullable = false)
+    private int drawn;
+
+    @Column(nullable = false)
+    private int lost;
+
+    @Column(name = "goals_for", nullable = false)
+    private int goalsFor;
+
+    @Column(name = "goals_against", nullable = false)
+    private int goalsAgainst;
+
+    @Column(nullable = false)
+    private int points;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getCompetitionId() {
+        return competitionId;
+    }
+
+    public void setCompetitionId(UUID competitionId) {
+        this.competitionId = competitionId;
+    }
+
+    public UUID getSeasonId() {
+        return seasonId;
+    }
+
+    public void setSeasonId(UUID seasonId) {
+        this.seasonId = seasonId;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public void setTeam(Team team) {
+        this.team = team;
+    }
+
+    public int getPlayed() {
+        return played;
+    }
+
+    public void setPlayed(int played) {
+        this.played = played;
+    }
+
+    public int getWon() {
+        return won;
+    }
+
+    public void setWon(int won) {
+        this.won = won;
+    }
+
+    public int getDrawn() {
+        return drawn;
+    }
+
+    public void setDrawn(int drawn) {
+        this.drawn = drawn;
+    }
+
+    public int getLost() {
+        return lost;
+    }
+
+    public void setLost(int lost) {
+        this.lost = lost;
+    }
+
+    public int getGoalsFor() {
+        return goalsFor;
+    }
+
+    public void setGoalsFor(int goalsFor) {
+        this.goalsFor = goalsFor;
+    }
+
+    public int getGoalsAgainst() {
+        return goalsAgainst;
+    }
+
+    public void setGoalsAgainst(int goalsAgainst) {
+        this.goalsAgainst = goalsAgainst;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+    }
+}
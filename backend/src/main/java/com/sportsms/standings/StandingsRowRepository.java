@@ -0,0 +1,73 @@
+package com.sportsms.standings;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StandingsRowRepository extends JpaRepository<StandingsRow, UUID> {
+    @Query("select r from StandingsRow r join fetch r.team " +
+            "where r.competitionId = :competitionId and r.seasonId = :seasonId")
+    List<StandingsRow> findTable(@Param("competitionId") UUID competitionId,
+                                 @Param("seasonId") UUID seasonId);
+
+    @Modifying
+    @Query(value = """
+            insert into standings_rows (id, competition_id, season_id, team_id, played, won, drawn, lost,
+                                        goals_for, goals_against, points)
+            values (gen_random_uuid(), :competitionId, :seasonId, :teamId, :played, :won, :drawn, :lost,
+                    :goalsFor, :goalsAgainst, :points)
+            on conflict (competition_id, season_id, team_id) do update
+            set played = standings_rows.played + excluded.played,
+                won = standings_rows.won + excluded.won,
+                drawn = standings_rows.drawn + excluded.drawn,
+                lost = standings_rows.lost + excluded.lost,
+                goals_for = standings_rows.goals_for + excluded.goals_for,
+                goals_against = standings_rows.goals_against + excluded.goals_against,
+                points = standings_rows.points + excluded.points
+            """, nativeQuery = true)
+    void applyDelta(@Param("competitionId") UUID competitionId,
+                    @Param("seasonId") UUID seasonId,
+                    @Param("teamId") UUID teamId,
+                    @Param("played") int played,
+                    @Param("won") int won,
+                    @Param("drawn") int drawn,
+                    @Param("lost") int lost,
+                    @Param("goalsFor") int goalsFor,
+                    @Param("goalsAgainst") int goalsAgainst,
+                    @Param("points") int points);
+
+    @Modifying
+    @Query(value = "delete from standings_rows where competition_id = :competitionId and season_id = :seasonId",
+            nativeQuery = true)
+    void deleteTable(@Param("competitionId") UUID competitionId, @Param("seasonId") UUID seasonId);
+
+    @Modifying
+    @Query(value = """
+            insert into standings_rows (id, competition_id, season_id, team_id, played, won, drawn, lost,
+                                        goals_for, goals_against, points)
+            select gen_random_uuid(), r.competition_id, r.season_id, r.team_id,
+                   count(*),
+                   count(*) filter (where r.scored > r.conceded),
+                   count(*) filter (where r.scored = r.conceded),
+                   count(*) filter (where r.scored < r.conceded),
+                   sum(r.scored),
+                   sum(r.conceded),
+                   sum(case when r.scored > r.conceded then 3 when r.scored = r.conceded then 1 else 0 end)
+            from (
+                select competition_id, season_id, home_team_id as team_id, home_score as scored, away_score as conceded
+                from fixtures
+                where competition_id = :competitionId and season_id = :seasonId
+                  and status = 'FINISHED' and home_score is not null and away_score is not null
+                union all
+                select competition_id, season_id, away_team_id as team_id, away_score as scored, home_score as conceded
+                from fixtures
+                where competition_id = :competitionId and season_id = :seasonId
+                  and status = 'FINISHED' and home_score is not null and away_score is not null
+            ) r
+            group by r.competition_id, r.season_id, r.team_id
+            """, nativeQuery = true)
+    int rebuildTable(@Param("competitionId") UUID competitionId, @Param("seasonId") UUID seasonId);
+}
@@ -1,106 +1,146 @@
 package com.sportsms.standings;
 
+import com.sportsms.common.AfterCommit;
 import com.sportsms.common.NotFoundException;
 import com.sportsms.competition.Competition;
 import com.sportsms.competition.CompetitionRepository;
-import com.sportsms.competition.Season;
 import com.sportsms.competition.SeasonRepository;
-import com.sportsms.fixture.Fixture;
-import com.sportsms.fixture.FixtureRepository;
-import com.sportsms.fixture.MatchStatus;
+import com.sportsms.fixture.FixtureResult;
 import com.sportsms.team.Team;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class StandingsService {
-    private final FixtureRepository fixtureRepository;
+    private static final Comparator<StandingsDto.TeamStanding> TABLE_ORDER =
+            Comparator.comparingInt(StandingsDto.TeamStanding::points).reversed()
+                    .thenComparingInt(StandingsDto.TeamStanding::goalDifference).reversed()
+                    .thenComparingInt(StandingsDto.TeamStanding::goalsFor).reversed();
+
+    private final StandingsRowRepository standingsRowRepository;
     private final CompetitionRepository competitionRepository;
     private final SeasonRepository seasonRepository;
+    private final StandingsCache standingsCache;
 
-    public StandingsService(FixtureRepository fixtureRepository,
+    public StandingsService(StandingsRowRepository standingsRowRepository,
                             CompetitionRepository competitionRepository,
-                            SeasonRepository seasonRepository) {
-        this.fixtureRepository = fixtureRepository;
+                            SeasonRepository seasonRepository,
+                            StandingsCache standingsCache) {
+        this.standingsRowRepository = standingsRowRepository;
         this.competitionRepository = competitionRepository;
         this.seasonRepository = seasonRepository;
+        this.standingsCache = standingsCache;
+    }
+
+    public VersionedStandings getStandings(UUID competitionId, UUID seasonId) {
+        // The version is read before the table so a concurrent write can only make the
+        // cached entry look older than it is, never newer.
+        long version = standingsCache.version(competitionId, seasonId);
+        StandingsDto.StandingsResponse table = standingsCache.get(competitionId, seasonId, version);
+        if (table == null) {
+            Competition competition = competitionRepository.findById(competitionId)
+                    .orElseThrow(() -> new NotFoundException("Competition not found"));
+            if (!seasonRepository.existsById(seasonId)) {
+                throw new NotFoundException("Season not found");
+            }
+            table = loadTable(competition, seasonId);
+            standingsCache.put(competitionId, seasonId, version, table);
+        }
+        return new VersionedStandings(standingsCache.etag(version), table);
+    }
+
+    public StandingsDto.CacheStats cacheStats() {
+        return standingsCache.stats();
+    }
+
+    public void invalidateCompetition(UUID competitionId) {
+        AfterCommit.run(() -> standingsCache.bumpCompetition(competitionId));
+    }
+
+    public void invalidateAll() {
+        AfterCommit.run(standingsCache::bumpAll);
+    }
+
+    public void competitionDeleted(UUID competitionId) {
+        AfterCommit.run(() -> standingsCache.forgetCompetition(competitionId));
+    }
+
+    public void seasonDeleted(UUID seasonId) {
+        AfterCommit.run(() -> standingsCache.forgetSeason(seasonId));
     }
 
-    public StandingsDto.StandingsResponse getStandings(UUID competitionId, UUID seasonId) {
+    @Transactional
+    public StandingsDto.StandingsResponse rebuild(UUID competitionId, UUID seasonId) {
         Competition competition = competitionRepository.findById(competitionId)
                 .orElseThrow(() -> new NotFoundException("Competition not found"));
-        Season season = seasonRepository.findById(seasonId)
-                .orElseThrow(() -> new NotFoundException("Season not found"));
-        List<Fixture> fixtures = fixtureRepository.filterFixtures(competitionId, seasonId, null, null, null);
-        Map<UUID, StandingsRow> table = new HashMap<>();
-        for (Team team : competition.getTeams()) {
-            table.put(team.getId(), new StandingsRow(team.getId(), team.getName()));
+        if (!seasonRepository.existsById(seasonId)) {
+            throw new NotFoundException("Season not found");
         }
-        for (Fixture fixture : fixtures) {
-            if (fixture.getStatus() != MatchStatus.FINISHED || fixture.getHomeScore() == null || fixture.getAwayScore() == null) {
-                continue;
-            }
-            StandingsRow home = table.computeIfAbsent(fixture.getHomeTeam().getId(),
-                    id -> new StandingsRow(id, fixture.getHomeTeam().getName()));
-            StandingsRow away = table.computeIfAbsent(fixture.getAwayTeam().getId(),
-                    id -> new StandingsRow(id, fixture.getAwayTeam().getName()));
-            home.played++;
-            away.played++;
-            home.goalsFor += fixture.getHomeScore();
-            home.goalsAgainst += fixture.getAwayScore();
-            away.goalsFor += fixture.getAwayScore();
-            away.goalsAgainst += fixture.getHomeScore();
-            if (fixture.getHomeScore() > fixture.getAwayScore()) {
-                home.won++;
-                away.lost++;
-                home.points += 3;
-            } else if (fixture.getHomeScore() < fixture.getAwayScore()) {
-                away.won++;
-                home.lost++;
-                away.points += 3;
-            } else {
-                home.drawn++;
-                away.drawn++;
-                home.points += 1;
-                away.points += 1;
-            }
+        standingsRowRepository.deleteTable(competitionId, seasonId);
+        standingsRowRepository.rebuildTable(competitionId, seasonId);
+        AfterCommit.run(() -> standingsCache.bump(competitionId, seasonId));
+        return loadTable(competition, seasonId);
+    }
+
+    /**
+     * Moves the league table from one result of a fixture to another. Either side may be
+     * {@code null} when the fixture did not (or no longer does) count towards the table.
+     */
+    @Transactional
+    public void applyResultChange(FixtureResult previous, FixtureResult current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            applyResult(previous, -1);
         }
-        List<StandingsDto.TeamStanding> standings = new ArrayList<>();
-        for (StandingsRow row : table.values()) {
-            row.goalDifference = row.goalsFor - row.goalsAgainst;
-            standings.add(row.toDto());
+        if (current != null) {
+            applyResult(current, 1);
         }
-        standings.sort(Comparator.comparingInt(StandingsDto.TeamStanding::points).reversed()
-                .thenComparingInt(StandingsDto.TeamStanding::goalDifference).reversed()
-                .thenComparingInt(StandingsDto.TeamStanding::goalsFor).reversed());
-        return new StandingsDto.StandingsResponse(competition.getId(), season.getId(), standings);
     }
 
-    private static class StandingsRow {
-        private final UUID teamId;
-        private final String teamName;
-        private int played;
-        private int won;
-        private int drawn;
-        private int lost;
-        private int goalsFor;
-        private int goalsAgainst;
-        private int goalDifference;
-        private int points;
-
-        private StandingsRow(UUID teamId, String teamName) {
-            this.teamId = teamId;
-            this.teamName = teamName;
-        }
+    private void applyResult(FixtureResult result, int sign) {
+        applyTeamDelta(result.competitionId(), result.seasonId(), result.homeTeamId(),
+                result.homeScore(), result.awayScore(), sign);
+        applyTeamDelta(result.competitionId(), result.seasonId(), result.awayTeamId(),
+                result.awayScore(), result.homeScore(), sign);
+        AfterCommit.run(() -> standingsCache.bump(result.competitionId(), result.seasonId()));
+    }
+
+    private void applyTeamDelta(UUID competitionId, UUID seasonId, UUID teamId, int scored, int conceded, int sign) {
+        int won = scored > conceded ? 1 : 0;
+        int drawn = scored == conceded ? 1 : 0;
+        int lost = scored < conceded ? 1 : 0;
+        int points = won * 3 + drawn;
+        standingsRowRepository.applyDelta(competitionId, seasonId, teamId,
+                sign, sign * won, sign * drawn, sign * lost,
+                sign * scored, sign * conceded, sign * points);
+    }
 
-        private StandingsDto.TeamStanding toDto() {
-            return new StandingsDto.TeamStanding(teamId, teamName, played, won, drawn, lost,
-                    goalsFor, goalsAgainst, goalDifference, points);
+    private StandingsDto.StandingsResponse loadTable(Competition competition, UUID seasonId) {
+        Map<UUID, StandingsDto.TeamStanding> table = new LinkedHashMap<>();
+        for (Team team : competition.getTeams()) {
+            table.put(team.getId(), new StandingsDto.TeamStanding(team.getId(), team.getName(),
+                    0, 0, 0, 0, 0, 0, 0, 0));
+        }
+        for (StandingsRow row : standingsRowRepository.findTable(competition.getId(), seasonId)) {
+            table.put(row.getTeam().getId(), new StandingsDto.TeamStanding(
+                    row.getTeam().getId(), row.getTeam().getName(),
+                    row.getPlayed(), row.getWon(), row.getDrawn(), row.getLost(),
+                    row.getGoalsFor(), row.getGoalsAgainst(), row.getGoalsFor() - row.getGoalsAgainst(),
+                    row.getPoints()));
         }
+        List<StandingsDto.TeamStanding> standings = new ArrayList<>(table.values());
+        standings.sort(TABLE_ORDER);
+        return new StandingsDto.StandingsResponse(competition.getId(), seasonId, List.copyOf(standings));
     }
+
+    public record VersionedStandings(String etag, StandingsDto.StandingsResponse table) {}
 }
@@ -1,14 +1,21 @@
 package com.sportsms.subscription;
 
 import com.sportsms.common.NotFoundException;
+import jakarta.persistence.LockModeType;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -18,9 +25,60 @@ import org.springframework.web.bind.annotation.*;
 interface SubscriptionPlanRepository extends JpaRepository<SubscriptionPlan, UUID> {}
 interface SubscriptionRepository extends JpaRepository<Subscription, UUID> {
     List<Subscription> findByStatus(SubscriptionStatus status);
+
+    @Query(value = "select count(*) from subscriptions where end_date < :today", nativeQuery = true)
+    long countLapsed(@Param("today") LocalDate today);
+
+    // Each chunk runs in its own short transaction and reports the ids it changed.
+    @Transactional
+    @Query(value = "update subscriptions set status = 'SUSPENDED' where id in (" +
+            "select id from subscriptions where status <> 'SUSPENDED' and end_date < :today and grace_end_date < :today " +
+            "limit :chunkSize for update skip locked) returning id", nativeQuery = true)
+    List<UUID> suspendLapsedChunk(@Param("today") LocalDate today, @Param("chunkSize") int chunkSize);
+
+    @Transactional
+    @Query(value = "update subscriptions set status = 'EXPIRED' where id in (" +
+            "select id from subscriptions where status <> 'EXPIRED' and end_date < :today " +
+            "and (grace_end_date is null or grace_end_date >= :today) " +
+            "limit :chunkSize for update skip locked) returning id", nativeQuery = true)
+    List<UUID> expireLapsedChunk(@Param("today") LocalDate today, @Param("chunkSize") int chunkSize);
+
+    // 5 points per overdue day plus 20 when the subscription has an overdue invoice, capped at 100.
+    @Query(value = "select r.id, r.score, r.overdue from (" +
+            "select s.id, greatest(0, :today - s.end_date) as overdue, " +
+            "least(100, greatest(0, :today - s.end_date) * 5 + case when exists (" +
+            "select 1 from invoices i where i.subscription_id = s.id and i.status = 'OVERDUE') then 20 else 0 end) as score " +
+            "from subscriptions s) r " +
+            "where r.score >= :minScore order by r.score desc, r.id limit :limit offset :offset", nativeQuery = true)
+    List<Object[]> riskScores(@Param("today") LocalDate today, @Param("minScore") int minScore,
+                              @Param("limit") int limit, @Param("offset") long offset);
 }
 interface PaymentRepository extends JpaRepository<Payment, UUID> {
     List<Payment> findTop10ByOrderByPaidAtDesc();
+
+    // Concurrent verifies of one payment queue on the row, so each sees the status the previous one left.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.id = :id")
+    Optional<Payment> findByIdForUpdate(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "insert into payment_monthly_rollup (month, subscriber_id, amount, payments) " +
+            "values (cast(date_trunc('month', cast(:paidAt as timestamptz)) as date), :subscriberId, :amount, :payments) " +
+            "on conflict (month, subscriber_id) do update set amount = payment_monthly_rollup.amount + excluded.amount, " +
+            "payments = payment_monthly_rollup.payments + excluded.payments", nativeQuery = true)
+    void addToMonthlyRollup(@Param("paidAt") OffsetDateTime paidAt, @Param("subscriberId") UUID subscriberId,
+                            @Param("amount") BigDecimal amount, @Param("payments") int payments);
+
+    @Modifying
+    @Query(value = "delete from payment_monthly_rollup", nativeQuery = true)
+    void clearMonthlyRollup();
+
+    @Modifying
+    @Query(value = "insert into payment_monthly_rollup (month, subscriber_id, amount, payments) " +
+            "select cast(date_trunc('month', p.paid_at) as date), s.subscriber_id, sum(p.amount), count(*) " +
+            "from payments p join subscriptions s on s.id = p.subscription_id " +
+            "where p.status = 'PAID' and p.paid_at is not null group by 1, 2", nativeQuery = true)
+    int rebuildMonthlyRollup();
 }
 interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     long countByStatus(InvoiceStatus status);
@@ -30,6 +88,8 @@ record PlanRequest(String name, String type, BigDecimal amount, String currency,
 record SubscriptionRequest(SubscriberType subscriberType, UUID subscriberId, UUID planId, boolean autoRenew) {}
 record PaymentRequest(@NotNull UUID subscriptionId, PaymentProviderType provider, BigDecimal amount, String currency) {}
 record VerifyResponse(UUID paymentId, PaymentStatus status, String message) {}
+record StatusRefreshResult(OffsetDateTime ranAt, long rowsScanned, long rowsChanged, long durationMillis,
+                           List<UUID> suspendedIds, List<UUID> expiredIds) {}
 interface PaymentProvider { VerifyResponse verify(Payment payment); }
 
 @Service class MockPaymentProvider implements PaymentProvider {
@@ -38,11 +98,16 @@ interface PaymentProvider { VerifyResponse verify(Payment payment); }
 
 @Service
 class SubscriptionService {
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionService.class);
+    private static final int STATUS_REFRESH_CHUNK = 500;
+    private static final int MAX_RISK_PAGE_SIZE = 1000;
+
     private final SubscriptionPlanRepository planRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
     private final PaymentProvider paymentProvider;
+    private volatile StatusRefreshResult lastStatusRefresh;
 
     SubscriptionService(SubscriptionPlanRepository planRepository, SubscriptionRepository subscriptionRepository,
                         PaymentRepository paymentRepository, InvoiceRepository invoiceRepository, PaymentProvider paymentProvider) {
@@ -76,24 +141,36 @@ class SubscriptionService {
 
     @Transactional
     VerifyResponse verifyPayment(UUID paymentId) {
-        Payment p = paymentRepository.findById(paymentId).orElseThrow(() -> new NotFoundException("Payment not found"));
+        Payment p = paymentRepository.findByIdForUpdate(paymentId).orElseThrow(() -> new NotFoundException("Payment not found"));
+        PaymentStatus previousStatus = p.getStatus(); OffsetDateTime previousPaidAt = p.getPaidAt();
         VerifyResponse response = paymentProvider.verify(p);
         p.setStatus(response.status()); p.setPaidAt(OffsetDateTime.now()); paymentRepository.save(p);
+        // Keep payment_monthly_rollup in step: a re-verified payment moves out of its old month.
+        UUID subscriberId = p.getSubscription().getSubscriberId();
+        if (previousStatus == PaymentStatus.PAID && previousPaidAt != null) {
+            paymentRepository.addToMonthlyRollup(previousPaidAt, subscriberId, p.getAmount().negate(), -1);
+        }
         if (response.status() == PaymentStatus.PAID) {
+            paymentRepository.addToMonthlyRollup(p.getPaidAt(), subscriberId, p.getAmount(), 1);
             Subscription sub = p.getSubscription(); sub.setStatus(SubscriptionStatus.ACTIVE); subscriptionRepository.save(sub);
         }
         return response;
     }
 
+    @Transactional
+    int rebuildRevenueRollup() {
+        paymentRepository.clearMonthlyRollup();
+        return paymentRepository.rebuildMonthlyRollup();
+    }
+
     List<Payment> latestPayments() { return paymentRepository.findTop10ByOrderByPaidAtDesc(); }
 
-    List<RiskItem> riskScores() {
-        return subscriptionRepository.findAll().stream().map(s -> {
-            long overdue = s.getEndDate().isBefore(LocalDate.now()) ? ChronoUnit.DAYS.between(s.getEndDate(), LocalDate.now()) : 0;
-            int unpaid = invoiceRepository.countByStatus(InvoiceStatus.OVERDUE) > 0 ? 20 : 0;
-            int score = (int) Math.min(100, overdue * 5 + unpaid);
-            return new RiskItem(s.getId(), score, overdue);
-        }).toList();
+    List<RiskItem> riskScores(int page, int size, int minScore) {
+        if (page < 0 || size < 1) throw new IllegalArgumentException("page must be >= 0 and size >= 1");
+        int limit = Math.min(size, MAX_RISK_PAGE_SIZE);
+        return subscriptionRepository.riskScores(LocalDate.now(), minScore, limit, (long) page * limit).stream()
+                .map(row -> new RiskItem(UUID.fromString(row[0].toString()), ((Number) row[1]).intValue(), ((Number) row[2]).longValue()))
+                .toList();
     }
 
     private void generateInvoice(Subscription s) {
@@ -103,15 +180,32 @@ class SubscriptionService {
     }
 
     @Scheduled(cron = "0 0 7 * * *")
-    public void refreshStatuses() {
-        for (Subscription s : subscriptionRepository.findAll()) {
-            if (s.getEndDate().isBefore(LocalDate.now()) && s.getGraceEndDate().isBefore(LocalDate.now())) {
-                s.setStatus(SubscriptionStatus.SUSPENDED);
-            } else if (s.getEndDate().isBefore(LocalDate.now())) {
-                s.setStatus(SubscriptionStatus.EXPIRED);
-            }
-        }
-        subscriptionRepository.saveAll(subscriptionRepository.findAll());
+    public void scheduledStatusRefresh() { refreshStatuses(); }
+
+    StatusRefreshResult refreshStatuses() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        long scanned = subscriptionRepository.countLapsed(today);
+        List<UUID> suspended = drain(chunk -> subscriptionRepository.suspendLapsedChunk(today, chunk));
+        List<UUID> expired = drain(chunk -> subscriptionRepository.expireLapsedChunk(today, chunk));
+        StatusRefreshResult result = new StatusRefreshResult(OffsetDateTime.now(), scanned, suspended.size() + expired.size(),
+                (System.nanoTime() - started) / 1_000_000, List.copyOf(suspended), List.copyOf(expired));
+        lastStatusRefresh = result;
+        log.info("Subscription status refresh: scanned={}, suspended={}, expired={}, durationMs={}",
+                result.rowsScanned(), suspended.size(), expired.size(), result.durationMillis());
+        return result;
+    }
+
+    StatusRefreshResult lastStatusRefresh() { return lastStatusRefresh; }
+
+    private static List<UUID> drain(IntFunction<List<UUID>> updateChunk) {
+        List<UUID> changed = new ArrayList<>();
+        List<UUID> chunk;
+        do {
+            chunk = updateChunk.apply(STATUS_REFRESH_CHUNK);
+            changed.addAll(chunk);
+        } while (chunk.size() == STATUS_REFRESH_CHUNK);
+        return changed;
     }
 }
 
@@ -133,10 +227,20 @@ class SubscriptionController {
     public Payment createPayment(@Valid @RequestBody PaymentRequest request) { return service.createPayment(request); }
     @PostMapping("/payments/{id}/verify") @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public VerifyResponse verify(@PathVariable UUID id) { return service.verifyPayment(id); }
+    @PostMapping("/payments/rollup/rebuild") @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> rebuildRollup() { return Map.of("rows", service.rebuildRevenueRollup()); }
     @GetMapping("/payments/latest") @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public List<Payment> latest() { return service.latestPayments(); }
+    @GetMapping("/status-refresh") @PreAuthorize("hasRole('ADMIN')")
+    public StatusRefreshResult lastStatusRefresh() { return service.lastStatusRefresh(); }
+    @PostMapping("/status-refresh") @PreAuthorize("hasRole('ADMIN')")
+    public StatusRefreshResult refreshStatuses() { return service.refreshStatuses(); }
     @GetMapping("/analytics/risk") @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
-    public List<RiskItem> risk() { return service.riskScores(); }
+    public List<RiskItem> risk(@RequestParam(name = "page", defaultValue = "0") int page,
+                               @RequestParam(name = "size", defaultValue = "100") int size,
+                               @RequestParam(name = "minScore", defaultValue = "0") int minScore) {
+        return service.riskScores(page, size, minScore);
+    }
 
     @PostMapping("/payments/webhook/{provider}")
     public Map<String, String> webhook(@PathVariable String provider) { return Map.of("status", "accepted", "provider", provider); }
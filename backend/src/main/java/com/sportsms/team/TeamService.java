@@ -3,6 +3,7 @@ package com.sportsms.team;
 import com.sportsms.club.Club;
 import com.sportsms.club.ClubRepository;
 import com.sportsms.common.NotFoundException;
+import com.sportsms.standings.StandingsService;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
@@ -11,10 +12,12 @@ import org.springframework.stereotype.Service;
 public class TeamService {
     private final TeamRepository teamRepository;
     private final ClubRepository clubRepository;
+    private final StandingsService standingsService;
 
-    public TeamService(TeamRepository teamRepository, ClubRepository clubRepository) {
+    public TeamService(TeamRepository teamRepository, ClubRepository clubRepository, StandingsService standingsService) {
         this.teamRepository = teamRepository;
         this.clubRepository = clubRepository;
+        this.standingsService = standingsService;
     }
 
     public List<Team> findAll() {
@@ -31,7 +34,10 @@ public class TeamService {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Team not found"));
         applyRequest(team, request);
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        // Tables render team names, and a team can appear in any competition and season.
+        standingsService.invalidateAll();
+        return saved;
     }
 
     public void delete(UUID id) {
@@ -39,6 +45,7 @@ public class TeamService {
             throw new NotFoundException("Team not found");
         }
         teamRepository.deleteById(id);
+        standingsService.invalidateAll();
     }
 
     private void applyRequest(Team team, TeamDto.TeamRequest request) {
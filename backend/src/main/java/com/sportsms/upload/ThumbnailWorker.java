@@ -0,0 +1,142 @@
+package com.sportsms.upload;
+
+import jakarta.annotation.PreDestroy;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders fixed-width thumbnail variants of stored uploads off the request thread. Variants are
+ * written to a temporary file and moved into place, so a variant URL never serves a partial image.
+ * Sources are decoded subsampled, so memory follows the size of the variants rather than the source.
+ */
+@Component
+public class ThumbnailWorker {
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailWorker.class);
+
+    private final Executor executor;
+
+    @Autowired
+    public ThumbnailWorker(@Value("${app.upload.thumbnail-threads:1}") int threads,
+                           @Value("${app.upload.thumbnail-queue-capacity:100}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "upload-thumbnail-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    ThumbnailWorker(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void submit(Path original, List<Variant> variants) {
+        if (variants.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> render(original, variants));
+        } catch (RejectedExecutionException ex) {
+            // The upload itself succeeded; the next upload of the same content retries the variants.
+            log.warn("Thumbnail queue full, skipping variants of {}", original.getFileName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private void render(Path original, List<Variant> variants) {
+        try {
+            int maxWidth = variants.stream().mapToInt(Variant::width).max().orElse(1);
+            BufferedImage source = decode(original, maxWidth);
+            if (source == null) {
+                log.warn("Unable to decode {} for thumbnails", original.getFileName());
+                return;
+            }
+            for (Variant variant : variants) {
+                if (!Files.exists(variant.path())) {
+                    write(resize(source, variant.width(), variant.format()), variant);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Thumbnail generation failed for {}: {}", original.getFileName(), ex.getMessage());
+        }
+    }
+
+    /** Decodes every n-th pixel so the decoded image is no more than about twice the widest variant. */
+    private static BufferedImage decode(Path original, int maxWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int step = Math.max(1, reader.getWidth(0) / (maxWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, String format) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void write(BufferedImage image, Variant variant) throws IOException {
+        Path temp = Files.createTempFile(variant.path().getParent(), ".thumb-", ".part");
+        try {
+            if (!ImageIO.write(image, variant.format(), temp.toFile())) {
+                throw new IOException("No writer for " + variant.format());
+            }
+            Files.move(temp, variant.path(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public record Variant(int width, Path path, String format) {}
+}
@@ -1,6 +1,7 @@
 package com.sportsms.upload;
 
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -11,9 +12,11 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/uploads")
 public class UploadController {
     private final UploadService uploadService;
+    private final UploadServingStats uploadServingStats;
 
-    public UploadController(UploadService uploadService) {
+    public UploadController(UploadService uploadService, UploadServingStats uploadServingStats) {
         this.uploadService = uploadService;
+        this.uploadServingStats = uploadServingStats;
     }
 
     @PostMapping
@@ -21,4 +24,10 @@ public class UploadController {
     public UploadService.UploadResponse upload(@RequestParam("file") MultipartFile file) {
         return uploadService.upload(file);
     }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UploadServingStats.UploadStats stats() {
+        return uploadServingStats.snapshot();
+    }
 }
@@ -0,0 +1,25 @@
+package com.sportsms.upload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/uploads")
+public class UploadFileController {
+    private final UploadFileService uploadFileService;
+
+    public UploadFileController(UploadFileService uploadFileService) {
+        this.uploadFileService = uploadFileService;
+    }
+
+    @RequestMapping(value = "/{filename}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable String filename, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        uploadFileService.serve(filename, request, response);
+    }
+}
@@ -0,0 +1,227 @@
+package com.sportsms.upload;
+
+import com.sportsms.common.BoundedLruMap;
+import com.sportsms.common.NotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves files written by {@link UploadService}. Every name it produces is never rewritten, so
+ * responses carry a content-hash ETag and a year-long immutable cache lifetime. On Tomcat the body
+ * is handed to the connector's sendfile support; elsewhere it is copied with
+ * {@link FileChannel#transferTo}.
+ */
+@Service
+public class UploadFileService {
+    private static final Logger log = LoggerFactory.getLogger(UploadFileService.class);
+
+    // Content-addressed names from UploadService, including the -w<width> thumbnail variants.
+    private static final Pattern HASHED_NAME = Pattern.compile("([0-9a-f]{64})(-w\\d+)?\\.(png|jpg|webp)");
+    // Random names written before uploads were content-addressed.
+    private static final Pattern LEGACY_NAME =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,10})?");
+    private static final String CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final int LEGACY_ETAG_CACHE_SIZE = 1024;
+
+    private final Path uploadDir;
+    private final long sendfileThreshold;
+    private final UploadServingStats stats;
+    private final Map<String, LegacyEtag> legacyEtags = new BoundedLruMap<>(LEGACY_ETAG_CACHE_SIZE);
+
+    public UploadFileService(@Value("${app.upload.directory}") String uploadDir,
+                             @Value("${app.upload.sendfile-threshold-bytes:49152}") long sendfileThreshold,
+                             UploadServingStats stats) {
+        this.uploadDir = Path.of(uploadDir).toAbsolutePath().normalize();
+        this.sendfileThreshold = sendfileThreshold;
+        this.stats = stats;
+    }
+
+    public void serve(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Matcher hashed = HASHED_NAME.matcher(filename);
+        boolean contentAddressed = hashed.matches();
+        if (!contentAddressed && !LEGACY_NAME.matcher(filename).matches()) {
+            throw new NotFoundException("File not found");
+        }
+        Path file = uploadDir.resolve(filename);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            throw new NotFoundException("File not found");
+        }
+        if (!attributes.isRegularFile()) {
+            throw new NotFoundException("File not found");
+        }
+        long length = attributes.size();
+        String etag = contentAddressed
+                ? quote(hashed.group(2) == null ? hashed.group(1) : hashed.group(1) + hashed.group(2))
+                : legacyEtag(filename, file, attributes);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            stats.notModified();
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            // Multi-range requests are answered with the whole file, which RFC 9110 permits.
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                if (length == 0 || start >= length || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                partial = true;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            stats.served(count, partial, true);
+            return;
+        }
+        stats.served(transfer(file, start, count, response), partial, false);
+    }
+
+    private static long transfer(Path file, long start, long count, HttpServletResponse response) throws IOException {
+        long sent = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (sent < count) {
+                long written = channel.transferTo(start + sent, count - sent, out);
+                if (written <= 0) {
+                    break;
+                }
+                sent += written;
+            }
+            response.flushBuffer();
+        } catch (IOException ex) {
+            // Almost always the client going away mid-download (seeking video, cancelled image).
+            log.debug("Upload transfer of {} stopped after {} bytes: {}", file.getFileName(), sent, ex.getMessage());
+        }
+        return sent;
+    }
+
+    private String legacyEtag(String filename, Path file, BasicFileAttributes attributes) throws IOException {
+        long modified = attributes.lastModifiedTime().toMillis();
+        synchronized (legacyEtags) {
+            LegacyEtag cached = legacyEtags.get(filename);
+            if (cached != null && cached.size() == attributes.size() && cached.modifiedMillis() == modified) {
+                return cached.etag();
+            }
+        }
+        String etag = quote(hash(file));
+        synchronized (legacyEtags) {
+            legacyEtags.put(filename, new LegacyEtag(attributes.size(), modified, etag));
+        }
+        return etag;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException ex) {
+            // A malformed Range header is ignored and the full representation is sent.
+            return List.of();
+        }
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag) {
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private record LegacyEtag(long size, long modifiedMillis, String etag) {}
+}
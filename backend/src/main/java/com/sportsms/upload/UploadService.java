@@ -2,48 +2,167 @@ package com.sportsms.upload;
 
 import com.sportsms.common.NotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Set;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class UploadService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/webp", "webp");
+    // ImageIO ships no webp codec, so webp uploads are stored as-is without variants.
+    private static final Map<String, String> THUMBNAIL_FORMATS = Map.of("png", "png", "jpg", "jpeg");
+
     private final Path uploadDir;
     private final String baseUrl;
-    private static final Set<String> ALLOWED_TYPES = Set.of("image/png", "image/jpeg", "image/webp");
+    private final int[] thumbnailWidths;
+    private final long thumbnailMaxSourcePixels;
+    private final ThumbnailWorker thumbnailWorker;
 
     public UploadService(@Value("${app.upload.directory}") String uploadDir,
-                         @Value("${app.upload.base-url}") String baseUrl) {
+                         @Value("${app.upload.base-url}") String baseUrl,
+                         @Value("${app.upload.thumbnail-widths:160,480}") int[] thumbnailWidths,
+                         @Value("${app.upload.thumbnail-max-source-pixels:40000000}") long thumbnailMaxSourcePixels,
+                         ThumbnailWorker thumbnailWorker) {
         this.uploadDir = Path.of(uploadDir);
         this.baseUrl = baseUrl;
+        this.thumbnailWidths = Arrays.stream(thumbnailWidths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.thumbnailMaxSourcePixels = thumbnailMaxSourcePixels;
+        this.thumbnailWorker = thumbnailWorker;
     }
 
+    /**
+     * Streams the upload to disk while hashing it, and stores it under its content hash so that
+     * re-uploading the same image reuses the existing file and its thumbnails.
+     */
     public UploadResponse upload(MultipartFile file) {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
-        if (!ALLOWED_TYPES.contains(file.getContentType())) {
+        String ext = EXTENSIONS.get(file.getContentType());
+        if (ext == null) {
             throw new IllegalArgumentException("Invalid file type");
         }
         try {
             Files.createDirectories(uploadDir);
-            String ext = StringUtils.getFilenameExtension(file.getOriginalFilename());
-            String safeName = UUID.randomUUID().toString();
-            if (ext != null && !ext.isBlank()) {
-                safeName = safeName + "." + ext;
+            Path temp = Files.createTempFile(uploadDir, ".upload-", ".part");
+            try {
+                String hash = streamToDisk(file, temp);
+                String name = hash + "." + ext;
+                Path target = uploadDir.resolve(name);
+                boolean duplicate = Files.exists(target);
+                if (!duplicate) {
+                    // Two concurrent uploads of the same bytes race to the same name; either copy is correct.
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Map<Integer, String> variants = scheduleThumbnails(target, hash, ext);
+                return new UploadResponse(baseUrl + "/" + name, name, hash, duplicate, variants);
+            } finally {
+                Files.deleteIfExists(temp);
             }
-            Path target = uploadDir.resolve(safeName);
-            file.transferTo(target);
-            return new UploadResponse(baseUrl + "/" + safeName, safeName);
         } catch (IOException ex) {
             throw new NotFoundException("Unable to store file");
         }
     }
 
-    public record UploadResponse(String url, String filename) {}
+    private static String streamToDisk(MultipartFile file, Path temp) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Map<Integer, String> scheduleThumbnails(Path original, String hash, String ext) {
+        String format = THUMBNAIL_FORMATS.get(ext);
+        if (format == null || thumbnailWidths.length == 0) {
+            return Map.of();
+        }
+        int[] size = readSize(original);
+        int sourceWidth = size[0];
+        // A small file can declare a huge canvas; past the budget the image gets no variants at all.
+        if ((long) sourceWidth * size[1] > thumbnailMaxSourcePixels) {
+            return Map.of();
+        }
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        List<ThumbnailWorker.Variant> missing = new ArrayList<>();
+        for (int width : thumbnailWidths) {
+            if (width >= sourceWidth) {
+                break;
+            }
+            String name = hash + "-w" + width + "." + ext;
+            Path path = uploadDir.resolve(name);
+            urls.put(width, baseUrl + "/" + name);
+            if (!Files.exists(path)) {
+                missing.add(new ThumbnailWorker.Variant(width, path, format));
+            }
+        }
+        thumbnailWorker.submit(original, missing);
+        return urls;
+    }
+
+    /**
+     * Reads width and height from the image header only; {0, 0} when the file is not a readable image.
+     * The dimensions are what the thumbnail pixel budget is checked against before anything is decoded.
+     */
+    private static int[] readSize(Path image) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return new int[] {0, 0};
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException ex) {
+            return new int[] {0, 0};
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public record UploadResponse(String url, String filename, String contentHash, boolean deduplicated,
+                                 Map<Integer, String> variants) {}
 }
@@ -0,0 +1,57 @@
+package com.sportsms.upload;
+
+import com.sportsms.common.ThroughputWindow;
+import java.time.Clock;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts what {@link UploadFileService} sends. Throughput is kept in one-second buckets over a
+ * sliding window, so {@code bytesPerSecond} reflects recent traffic rather than the lifetime average.
+ */
+@Component
+public class UploadServingStats {
+    static final int WINDOW_SECONDS = 60;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder partialRequests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder sendfileRequests = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+    private final ThroughputWindow recentBytes;
+
+    @Autowired
+    public UploadServingStats() {
+        this(Clock.systemUTC());
+    }
+
+    UploadServingStats(Clock clock) {
+        this.recentBytes = new ThroughputWindow(clock, WINDOW_SECONDS);
+    }
+
+    public void served(long bytes, boolean partial, boolean sendfile) {
+        requests.increment();
+        if (partial) {
+            partialRequests.increment();
+        }
+        if (sendfile) {
+            sendfileRequests.increment();
+        }
+        bytesServed.add(bytes);
+        recentBytes.add(bytes);
+    }
+
+    public void notModified() {
+        requests.increment();
+        notModified.increment();
+    }
+
+    public UploadStats snapshot() {
+        return new UploadStats(requests.sum(), partialRequests.sum(), notModified.sum(), sendfileRequests.sum(),
+                bytesServed.sum(), recentBytes.perSecond(), WINDOW_SECONDS);
+    }
+
+    public record UploadStats(long requests, long partialRequests, long notModified, long sendfileRequests,
+                              long bytesServed, double bytesPerSecond, int windowSeconds) {}
+}
@@ -0,0 +1,102 @@
+package com.sportsms.user;
+
+import com.sportsms.common.BoundedLruMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded near-cache of the user data needed on every authenticated request (id, name, password
+ * hash, roles), keyed by email. Entries are evicted by {@link UserService} and the password
+ * rehash path whenever a user changes; the TTL only bounds staleness from writes made elsewhere.
+ */
+@Component
+public class UserLookupCache {
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, CachedUser> entries;
+    /** Bumped under the {@code entries} lock by every eviction; guarded by that lock. */
+    private long evictions;
+
+    @Autowired
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${app.users.cache.max-entries:5000}") int maxEntries,
+                           @Value("${app.users.cache.ttl-seconds:300}") long ttlSeconds) {
+        this(userRepository, maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    UserLookupCache(UserRepository userRepository, int maxEntries, Duration ttl, Clock clock) {
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new BoundedLruMap<>(maxEntries);
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        Instant now = clock.instant();
+        CachedUser cached;
+        long stamp;
+        synchronized (entries) {
+            cached = entries.get(email);
+            stamp = evictions;
+        }
+        if (cached != null && cached.loadedAt().plus(ttl).isAfter(now)) {
+            return Optional.of(cached);
+        }
+        Optional<CachedUser> loaded = userRepository.findByEmail(email).map(user -> CachedUser.of(user, now));
+        loaded.ifPresentOrElse(user -> {
+            synchronized (entries) {
+                // An eviction during the load may mean this row predates a role change or a delete;
+                // this caller still gets it, but it is not cached for everyone else.
+                if (evictions == stamp) {
+                    entries.put(email, user);
+                }
+            }
+        }, () -> evict(email));
+        return loaded;
+    }
+
+    public void evict(String email) {
+        synchronized (entries) {
+            entries.remove(email);
+            evictions++;
+        }
+    }
+
+    public void evict(UUID userId) {
+        synchronized (entries) {
+            entries.values().removeIf(user -> user.id().equals(userId));
+            evictions++;
+        }
+    }
+
+    public record CachedUser(UUID id, String email, String fullName, String password, Set<Role> roles,
+                             Instant loadedAt) {
+        static CachedUser of(User user, Instant loadedAt) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getFullName(), user.getPassword(),
+                    Set.copyOf(user.getRoles()), loadedAt);
+        }
+
+        /**
+         * A detached {@link User} carrying the cached columns. Good for authentication and as an
+         * association target; it is never merged back, so it cannot overwrite the stored row.
+         */
+        public User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setFullName(fullName);
+            user.setPassword(password);
+            user.setRoles(Set.copyOf(roles));
+            return user;
+        }
+    }
+}
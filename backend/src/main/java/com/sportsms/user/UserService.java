@@ -10,10 +10,12 @@ import org.springframework.stereotype.Service;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserLookupCache userLookupCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userLookupCache = userLookupCache;
     }
 
     public List<User> findAll() {
@@ -29,14 +31,18 @@ public class UserService {
         user.setFullName(request.fullName());
         user.setPassword(passwordEncoder.encode(request.password()));
         user.setRoles(request.roles());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLookupCache.evict(saved.getEmail());
+        return saved;
     }
 
     public User updateRoles(UUID userId, UserDto.UpdateRolesRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         user.setRoles(request.roles());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLookupCache.evict(saved.getEmail());
+        return saved;
     }
 
     public void deleteUser(UUID userId) {
@@ -44,5 +50,6 @@ public class UserService {
             throw new NotFoundException("User not found");
         }
         userRepository.deleteById(userId);
+        userLookupCache.evict(userId);
     }
 }
@@ -0,0 +1,37 @@
+CREATE TABLE IF NOT EXISTS standings_rows (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    competition_id UUID NOT NULL REFERENCES competitions(id) ON DELETE CASCADE,
+    season_id UUID NOT NULL REFERENCES seasons(id) ON DELETE CASCADE,
+    team_id UUID NOT NULL REFERENCES teams(id) ON DELETE CASCADE,
+    played INTEGER NOT NULL DEFAULT 0,
+    won INTEGER NOT NULL DEFAULT 0,
+    drawn INTEGER NOT NULL DEFAULT 0,
+    lost INTEGER NOT NULL DEFAULT 0,
+    goals_for INTEGER NOT NULL DEFAULT 0,
+    goals_against INTEGER NOT NULL DEFAULT 0,
+    points INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_standings_rows_competition_season_team UNIQUE (competition_id, season_id, team_id)
+);
+
+INSERT INTO standings_rows (competition_id, season_id, team_id, played, won, drawn, lost, goals_for, goals_against, points)
+SELECT r.competition_id,
+       r.season_id,
+       r.team_id,
+       count(*),
+       count(*) FILTER (WHERE r.scored > r.conceded),
+       count(*) FILTER (WHERE r.scored = r.conceded),
+       count(*) FILTER (WHERE r.scored < r.conceded),
+       sum(r.scored),
+       sum(r.conceded),
+       sum(CASE WHEN r.scored > r.conceded THEN 3 WHEN r.scored = r.conceded THEN 1 ELSE 0 END)
+FROM (
+    SELECT competition_id, season_id, home_team_id AS team_id, home_score AS scored, away_score AS conceded
+    FROM fixtures
+    WHERE status = 'FINISHED' AND home_score IS NOT NULL AND away_score IS NOT NULL
+    UNION ALL
+    SELECT competition_id, season_id, away_team_id AS team_id, away_score AS scored, home_score AS conceded
+    FROM fixtures
+    WHERE status = 'FINISHED' AND home_score IS NOT NULL AND away_score IS NOT NULL
+) r
+GROUP BY r.competition_id, r.season_id, r.team_id
+ON CONFLICT (competition_id, season_id, team_id) DO NOTHING;
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_fixtures_match_date_id ON fixtures(match_date, id);
+CREATE INDEX IF NOT EXISTS idx_fixtures_home_team ON fixtures(home_team_id);
+CREATE INDEX IF NOT EXISTS idx_fixtures_away_team ON fixtures(away_team_id);
@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS dashboard_counters (
+    name VARCHAR(60) PRIMARY KEY,
+    value BIGINT NOT NULL,
+    refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO dashboard_counters (name, value)
+VALUES ('clubs', (SELECT count(*) FROM clubs)),
+       ('teams', (SELECT count(*) FROM teams)),
+       ('players', (SELECT count(*) FROM players)),
+       ('competitions', (SELECT count(*) FROM competitions)),
+       ('fixtures', (SELECT count(*) FROM fixtures)),
+       ('subscription_plans', (SELECT count(*) FROM subscription_plans)),
+       ('facility_bookings', (SELECT count(*) FROM facility_bookings)),
+       ('notifications', (SELECT count(*) FROM notifications)),
+       ('chat_messages', (SELECT count(*) FROM chat_messages)),
+       ('message_read_receipts', (SELECT count(*) FROM message_read_receipts)),
+       ('subscriptions_active', (SELECT count(*) FROM subscriptions WHERE status = 'ACTIVE')),
+       ('subscriptions_expired', (SELECT count(*) FROM subscriptions WHERE status = 'EXPIRED')),
+       ('subscriptions_suspended', (SELECT count(*) FROM subscriptions WHERE status = 'SUSPENDED'))
+ON CONFLICT (name) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_facility_bookings_start ON facility_bookings(start_date_time);
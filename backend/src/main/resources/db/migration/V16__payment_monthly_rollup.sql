@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS payment_monthly_rollup (
+    month DATE NOT NULL,
+    subscriber_id UUID NOT NULL,
+    amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+    payments INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (month, subscriber_id)
+);
+
+INSERT INTO payment_monthly_rollup (month, subscriber_id, amount, payments)
+SELECT CAST(date_trunc('month', p.paid_at) AS DATE), s.subscriber_id, sum(p.amount), count(*)
+FROM payments p
+JOIN subscriptions s ON s.id = p.subscription_id
+WHERE p.status = 'PAID' AND p.paid_at IS NOT NULL
+GROUP BY 1, 2
+ON CONFLICT (month, subscriber_id) DO NOTHING;
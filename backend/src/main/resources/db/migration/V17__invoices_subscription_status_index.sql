@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_invoices_subscription_status ON invoices(subscription_id, status);
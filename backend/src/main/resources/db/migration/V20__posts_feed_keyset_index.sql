@@ -0,0 +1,4 @@
+-- Newest-first keyset paging on (created_at, id); supersedes the (status, created_at) index.
+CREATE INDEX IF NOT EXISTS idx_posts_status_created_id ON posts(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_posts_created_id ON posts(created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_posts_status_created;
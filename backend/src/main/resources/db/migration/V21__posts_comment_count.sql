@@ -0,0 +1,6 @@
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE posts p
+SET comment_count = c.total
+FROM (SELECT post_id, count(*) AS total FROM comments GROUP BY post_id) c
+WHERE c.post_id = p.id;
@@ -0,0 +1,51 @@
+-- Overlapping live bookings of one facility become impossible at the database level.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Empty or inverted slots cannot be expressed as a range; they were never bookable anyway.
+UPDATE facility_bookings SET status = 'REJECTED'
+WHERE status IN ('PENDING', 'APPROVED') AND end_date_time <= start_date_time;
+
+-- Older data may already overlap: keep the earliest request for each clash and reject the rest.
+-- Conflicts are resolved in (created_at, id) order against the bookings kept so far, so a booking
+-- whose only clash is with a booking rejected here is kept. Only rows with an earlier overlap at
+-- all are candidates; each is checked once every earlier booking has been decided.
+DO $$
+DECLARE
+    candidate RECORD;
+BEGIN
+    FOR candidate IN
+        SELECT b.id, b.facility_id, b.start_date_time, b.end_date_time, b.created_at
+        FROM facility_bookings b
+        WHERE b.status IN ('PENDING', 'APPROVED')
+          AND EXISTS (
+              SELECT 1 FROM facility_bookings o
+              WHERE o.facility_id = b.facility_id
+                AND o.id <> b.id
+                AND o.status IN ('PENDING', 'APPROVED')
+                AND o.start_date_time < b.end_date_time
+                AND b.start_date_time < o.end_date_time
+                AND (o.created_at, o.id) < (b.created_at, b.id))
+        ORDER BY b.created_at, b.id
+    LOOP
+        IF EXISTS (
+            SELECT 1 FROM facility_bookings o
+            WHERE o.facility_id = candidate.facility_id
+              AND o.id <> candidate.id
+              AND o.status IN ('PENDING', 'APPROVED')
+              AND o.start_date_time < candidate.end_date_time
+              AND candidate.start_date_time < o.end_date_time
+              AND (o.created_at, o.id) < (candidate.created_at, candidate.id)) THEN
+            UPDATE facility_bookings SET status = 'REJECTED' WHERE id = candidate.id;
+        END IF;
+    END LOOP;
+END $$;
+
+ALTER TABLE facility_bookings
+    ADD CONSTRAINT facility_bookings_no_overlap EXCLUDE USING gist (
+        facility_id WITH =,
+        tstzrange(start_date_time, end_date_time) WITH &&
+    ) WHERE (status IN ('PENDING', 'APPROVED') AND end_date_time > start_date_time);
+
+CREATE INDEX IF NOT EXISTS idx_maintenance_facility_period ON maintenance_schedules
+    USING gist (facility_id, tstzrange(start_date_time, end_date_time))
+    WHERE end_date_time > start_date_time;
@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS facility_weekly_rollup (
+    week DATE NOT NULL,
+    facility_id UUID NOT NULL REFERENCES facilities(id) ON DELETE CASCADE,
+    booked_minutes BIGINT NOT NULL DEFAULT 0,
+    approved_minutes BIGINT NOT NULL DEFAULT 0,
+    bookings INTEGER NOT NULL DEFAULT 0,
+    projected_revenue NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (week, facility_id)
+);
+
+-- Weeks start on Monday in UTC. A booking spanning weeks contributes its minutes (and revenue)
+-- to each of them, and is counted once, in the week it starts.
+INSERT INTO facility_weekly_rollup (week, facility_id, booked_minutes, approved_minutes, bookings, projected_revenue)
+SELECT s.week, s.facility_id, sum(s.minutes),
+       sum(CASE WHEN s.status = 'APPROVED' THEN s.minutes ELSE 0 END),
+       sum(CASE WHEN s.first THEN 1 ELSE 0 END),
+       sum(round(s.minutes * s.price_per_hour / 60, 2))
+FROM (
+    SELECT CAST(g AS DATE) AS week, b.facility_id, b.status, f.price_per_hour,
+           g = date_trunc('week', b.start_date_time AT TIME ZONE 'UTC') AS first,
+           CAST(floor(extract(epoch FROM
+               least(b.end_date_time AT TIME ZONE 'UTC', g + interval '7 days')
+               - greatest(b.start_date_time AT TIME ZONE 'UTC', g)) / 60) AS BIGINT) AS minutes
+    FROM facility_bookings b
+    JOIN facilities f ON f.id = b.facility_id
+    CROSS JOIN LATERAL generate_series(date_trunc('week', b.start_date_time AT TIME ZONE 'UTC'),
+                                       (b.end_date_time AT TIME ZONE 'UTC') - interval '1 microsecond',
+                                       interval '7 days') g
+    WHERE b.status IN ('PENDING', 'APPROVED') AND b.end_date_time > b.start_date_time
+) s
+GROUP BY s.week, s.facility_id
+ON CONFLICT (week, facility_id) DO NOTHING;
@@ -0,0 +1,5 @@
+-- History pages walk a room newest-first with a (sent_at, id) keyset, and every send or
+-- subscribe checks membership of (room, user).
+CREATE INDEX IF NOT EXISTS idx_chat_messages_room_sent_id ON chat_messages(room_id, sent_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_chat_participants_room_user ON chat_participants(room_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_chat_participants_user ON chat_participants(user_id);
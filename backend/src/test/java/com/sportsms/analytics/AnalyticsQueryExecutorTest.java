@@ -0,0 +1,94 @@
+package com.sportsms.analytics;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.Mockito.mock;
+
+class AnalyticsQueryExecutorTest {
+    private final AnalyticsQueryExecutor executor =
+            new AnalyticsQueryExecutor(mock(PlatformTransactionManager.class), 4, 500);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void widgetsRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AnalyticsQueryExecutor.Fanout fanout = executor.fanout();
+
+        var first = fanout.submit("first", () -> awaitOther(bothStarted));
+        var second = fanout.submit("second", () -> awaitOther(bothStarted));
+
+        Assertions.assertTrue(fanout.join(first, false));
+        Assertions.assertTrue(fanout.join(second, false));
+        Assertions.assertEquals(List.of(), fanout.failed());
+    }
+
+    @Test
+    void slowOrFailingWidgetsFallBackAndAreFlagged() {
+        AnalyticsQueryExecutor.Fanout fanout = executor.fanout();
+
+        var slow = fanout.submit("slow", () -> {
+            sleep(5_000);
+            return 1L;
+        });
+        var broken = fanout.submit("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        var fine = fanout.submit("fine", () -> 3L);
+
+        Assertions.assertEquals(0L, fanout.join(slow, 0L));
+        Assertions.assertEquals(0L, fanout.join(broken, 0L));
+        Assertions.assertEquals(3L, fanout.join(fine, 0L));
+        Assertions.assertEquals(List.of("slow", "broken"), fanout.failed());
+    }
+
+    @Test
+    void widgetQueuedBehindBusyPoolGetsItsOwnTimeout() {
+        AnalyticsQueryExecutor singleThread = new AnalyticsQueryExecutor(mock(PlatformTransactionManager.class), 1, 500);
+        try {
+            AnalyticsQueryExecutor.Fanout fanout = singleThread.fanout();
+            var first = fanout.submit("first", () -> {
+                sleep(300);
+                return 1L;
+            });
+            var second = fanout.submit("second", () -> {
+                sleep(300);
+                return 2L;
+            });
+
+            // 600ms in total, past a shared 500ms deadline, but each query stays within its own.
+            Assertions.assertEquals(1L, fanout.join(first, 0L));
+            Assertions.assertEquals(2L, fanout.join(second, 0L));
+            Assertions.assertEquals(List.of(), fanout.failed());
+        } finally {
+            singleThread.shutdown();
+        }
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
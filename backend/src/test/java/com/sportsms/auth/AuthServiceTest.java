@@ -1,10 +1,8 @@
 package com.sportsms.auth;
 
-import com.sportsms.common.NotFoundException;
 import com.sportsms.user.Role;
 import com.sportsms.user.User;
 import com.sportsms.user.UserRepository;
-import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.Assertions;
@@ -29,7 +27,7 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenService refreshTokenService;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -48,7 +46,7 @@ class AuthServiceTest {
     @BeforeEach
     void setUp() {
         when(environment.getActiveProfiles()).thenReturn(new String[0]);
-        authService = new AuthService(userRepository, refreshTokenRepository, passwordEncoder, jwtService, authenticationManager, environment, 60L);
+        authService = new AuthService(userRepository, refreshTokenService, passwordEncoder, jwtService, authenticationManager, environment);
     }
 
     @Test
@@ -57,7 +55,7 @@ class AuthServiceTest {
         when(userRepository.existsByEmail(request.email())).thenReturn(false);
         when(passwordEncoder.encode(request.password())).thenReturn("encoded");
         when(jwtService.generateToken(any(String.class), any())).thenReturn("access-token");
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(refreshTokenService.issue(any(User.class))).thenReturn("refresh-token");
 
         AuthDto.AuthResponse response = authService.register(request);
 
@@ -86,7 +84,7 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(userRepository.findByEmail(request.email())).thenReturn(Optional.of(user));
         when(jwtService.generateToken(any(String.class), any())).thenReturn("access-token");
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(refreshTokenService.issue(any(User.class))).thenReturn("refresh-token");
 
         AuthDto.AuthResponse response = authService.login(request);
 
@@ -106,22 +104,16 @@ class AuthServiceTest {
     }
 
     @Test
-    void refreshThrowsWhenTokenMissing() {
-        when(refreshTokenRepository.findByToken("missing")).thenReturn(Optional.empty());
+    void refreshIssuesAccessTokenForRotatedRefreshToken() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        user.setRoles(Set.of(Role.COACH));
+        when(refreshTokenService.rotate("old-refresh")).thenReturn(new RefreshTokenService.Rotation(user, "new-refresh"));
+        when(jwtService.generateToken(any(String.class), any())).thenReturn("access-token");
 
-        Assertions.assertThrows(NotFoundException.class,
-                () -> authService.refresh(new AuthDto.RefreshRequest("missing")));
-    }
+        AuthDto.AuthResponse response = authService.refresh(new AuthDto.RefreshRequest("old-refresh"));
 
-    @Test
-    void refreshThrowsWhenTokenRevoked() {
-        RefreshToken token = new RefreshToken();
-        token.setToken("revoked");
-        token.setRevoked(true);
-        token.setExpiresAt(Instant.now().plusSeconds(600));
-        when(refreshTokenRepository.findByToken("revoked")).thenReturn(Optional.of(token));
-
-        Assertions.assertThrows(IllegalArgumentException.class,
-                () -> authService.refresh(new AuthDto.RefreshRequest("revoked")));
+        Assertions.assertEquals("new-refresh", response.refreshToken());
+        Assertions.assertTrue(response.roles().contains(Role.COACH.name()));
     }
 }
@@ -0,0 +1,78 @@
+package com.sportsms.auth;
+
+import com.sportsms.user.Role;
+import com.sportsms.user.User;
+import com.sportsms.user.UserLookupCache;
+import com.sportsms.user.UserRepository;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new CustomUserDetailsService(userRepository, new UserLookupCache(userRepository, 16, 300));
+    }
+
+    @Test
+    void loginRehashesPasswordStoredWithLowerCost() {
+        User user = user("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password123"));
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        provider(5).authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "password123"));
+
+        Assertions.assertTrue(user.getPassword().startsWith("{bcrypt}$2a$05$"));
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void loginKeepsPasswordAlreadyAtConfiguredCost() {
+        User user = user("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password123"));
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        provider(4).authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "password123"));
+
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    private DaoAuthenticationProvider provider(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        return provider;
+    }
+
+    private static User user(String password) {
+        User user = new User();
+        user.setEmail("user@example.com");
+        user.setPassword(password);
+        user.setRoles(Set.of(Role.VIEWER));
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package com.sportsms.auth;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class JwtAuthenticationCacheTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Test
+    void entriesExpireAtTokenExpiry() {
+        MutableClock clock = new MutableClock(NOW);
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, clock);
+        cache.put("token", "user@example.com", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), NOW.plusSeconds(60));
+
+        Assertions.assertEquals("user@example.com", cache.get("token").subject());
+
+        clock.now = NOW.plusSeconds(60);
+        Assertions.assertNull(cache.get("token"));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntriesAndSkipsTokensWithoutExpiry() {
+        MutableClock clock = new MutableClock(NOW);
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(2, clock);
+        cache.put("a", "a", List.of(), NOW.plusSeconds(100));
+        cache.put("b", "b", List.of(), NOW.plusSeconds(100));
+        cache.get("a");
+        cache.put("c", "c", List.of(), NOW.plusSeconds(100));
+        cache.put("no-exp", "d", List.of(), null);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNotNull(cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertNotNull(cache.get("c"));
+        Assertions.assertNull(cache.get("no-exp"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
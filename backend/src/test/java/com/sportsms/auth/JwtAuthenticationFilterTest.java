@@ -3,6 +3,8 @@ package com.sportsms.auth;
 import io.jsonwebtoken.impl.DefaultClaims;
 import jakarta.servlet.ServletException;
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -17,6 +19,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,7 +36,8 @@ class JwtAuthenticationFilterTest {
 
     @Test
     void skipsNullLikeBearerToken() throws ServletException, IOException {
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                new JwtTokenVerifier(jwtService, new JwtAuthenticationCache(16)), new JwtFailureSampler(), false);
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI("/api/auth/me");
         request.addHeader("Authorization", "Bearer null");
@@ -46,7 +50,8 @@ class JwtAuthenticationFilterTest {
 
     @Test
     void setsAuthenticationWithRolePrefixWhenTokenIsValid() throws ServletException, IOException {
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                new JwtTokenVerifier(jwtService, new JwtAuthenticationCache(16)), new JwtFailureSampler(), false);
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI("/api/auth/me");
         request.addHeader("Authorization", "Bearer valid-token");
@@ -66,4 +71,26 @@ class JwtAuthenticationFilterTest {
         Assertions.assertTrue(authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER")));
     }
+
+    @Test
+    void reusesVerifiedTokenUntilItExpires() throws ServletException, IOException {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                new JwtTokenVerifier(jwtService, new JwtAuthenticationCache(16)), new JwtFailureSampler(), false);
+        DefaultClaims claims = new DefaultClaims();
+        claims.setSubject("user@example.com");
+        claims.put("roles", List.of("ADMIN"));
+        claims.setExpiration(Date.from(Instant.now().plusSeconds(300)));
+        when(jwtService.parseToken("cached-token")).thenReturn(claims);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRequestURI("/api/auth/me");
+            request.addHeader("Authorization", "Bearer cached-token");
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            Assertions.assertEquals("user@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        }
+
+        verify(jwtService, times(1)).parseToken("cached-token");
+    }
 }
@@ -0,0 +1,57 @@
+package com.sportsms.auth;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class JwtFailureSamplerTest {
+
+    @Test
+    void countsFailuresByReasonUntilDrained() {
+        JwtFailureSampler sampler = new JwtFailureSampler();
+
+        sampler.record(new IllegalArgumentException("bad"), "/api/a");
+        sampler.record(new IllegalArgumentException("bad"), "/api/b");
+        sampler.record(new IllegalStateException("bad"), "/api/c");
+
+        Assertions.assertEquals(Map.of("IllegalArgumentException", 2L, "IllegalStateException", 1L), sampler.drain());
+        Assertions.assertEquals(Map.of(), sampler.drain());
+    }
+
+    @Test
+    void flushReportsTheLastWindowWithoutWaitingForAnotherFailure() {
+        JwtFailureSampler sampler = new JwtFailureSampler();
+        sampler.record(new IllegalArgumentException("bad"), "/api/a");
+
+        sampler.flush();
+
+        Assertions.assertEquals(Map.of(), sampler.drain());
+    }
+
+    @Test
+    void flushLogsOneSummaryPerIntervalWithFailures() {
+        Logger logger = (Logger) LoggerFactory.getLogger(JwtFailureSampler.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            JwtFailureSampler sampler = new JwtFailureSampler();
+            sampler.record(new IllegalArgumentException("bad"), "/api/a");
+            sampler.record(new IllegalStateException("bad"), "/api/b");
+
+            sampler.flush();
+            sampler.flush();
+
+            Assertions.assertEquals(1, appender.list.size());
+            Assertions.assertEquals("event=jwt_auth_failure sample_reason=IllegalStateException sample_path=/api/b "
+                    + "counts_since_last={IllegalArgumentException=1, IllegalStateException=1}",
+                    appender.list.get(0).getFormattedMessage());
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+}
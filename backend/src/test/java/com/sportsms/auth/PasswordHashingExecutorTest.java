@@ -0,0 +1,50 @@
+package com.sportsms.auth;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PasswordHashingExecutorTest {
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submitCompletesWithTaskResult() throws Exception {
+        Assertions.assertEquals("hashed", executor.submit(() -> "hashed").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submitRejectsOnceThreadsAndQueueAreBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = executor.submit(() -> "second");
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "third"));
+
+        release.countDown();
+        Assertions.assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.sportsms.auth;
+
+import com.sportsms.common.NotFoundException;
+import com.sportsms.user.User;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 60L, 1440L, 2);
+    }
+
+    @Test
+    void issueStoresOnlyTheHashOfANewFamily() {
+        String raw = refreshTokenService.issue(new User());
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        Assertions.assertEquals(RefreshTokenService.hash(raw), saved.getValue().getTokenHash());
+        Assertions.assertNotEquals(raw, saved.getValue().getTokenHash());
+        Assertions.assertNotNull(saved.getValue().getFamilyId());
+    }
+
+    @Test
+    void rotateRevokesPresentedTokenAndIssuesSuccessorInSameFamily() {
+        RefreshToken current = token("current", false, Instant.now().plusSeconds(600));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("current"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(eq(current.getId()), any(Instant.class))).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("current");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        Assertions.assertSame(current.getUser(), rotation.user());
+        Assertions.assertEquals(current.getFamilyId(), saved.getValue().getFamilyId());
+        Assertions.assertEquals(RefreshTokenService.hash(rotation.refreshToken()), saved.getValue().getTokenHash());
+    }
+
+    @Test
+    void rotateThrowsWhenTokenMissing() {
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("missing"))).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> refreshTokenService.rotate("missing"));
+    }
+
+    @Test
+    void rotatingRevokedTokenRevokesWholeFamily() {
+        RefreshToken revoked = token("revoked", true, Instant.now().plusSeconds(600));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("revoked"))).thenReturn(Optional.of(revoked));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("revoked"));
+        verify(refreshTokenRepository).revokeFamily(eq(revoked.getFamilyId()), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotateRejectsExpiredTokenWithoutTouchingFamily() {
+        RefreshToken expired = token("expired", false, Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("expired"))).thenReturn(Optional.of(expired));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("expired"));
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void purgeDrainsFullChunksAndReportsThroughput() {
+        when(refreshTokenRepository.purgeChunk(any(Instant.class), any(Instant.class), anyInt())).thenReturn(2L, 2L, 1L);
+        when(refreshTokenRepository.count()).thenReturn(7L);
+
+        RefreshTokenService.PurgeResult result = refreshTokenService.purge();
+
+        verify(refreshTokenRepository, times(3)).purgeChunk(any(Instant.class), any(Instant.class), eq(2));
+        Assertions.assertEquals(5, result.deleted());
+        Assertions.assertEquals(3, result.chunks());
+        Assertions.assertEquals(7, result.remaining());
+        Assertions.assertSame(result, refreshTokenService.lastPurge());
+    }
+
+    private static RefreshToken token(String raw, boolean revoked, Instant expiresAt) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        RefreshToken token = new RefreshToken();
+        token.setId(UUID.randomUUID());
+        token.setUser(user);
+        token.setTokenHash(RefreshTokenService.hash(raw));
+        token.setFamilyId(UUID.randomUUID());
+        token.setRevoked(revoked);
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sportsms.chat;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ChatMessageWriterTest {
+    private final List<List<ChatMessage>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ChatMessageWriter.BatchSink blockingSink = batch -> {
+        firstBatchStarted.countDown();
+        await(release);
+        batches.add(List.copyOf(batch));
+    };
+
+    @Test
+    void queuedMessagesAreWrittenInBatchesOfAtMostBatchSize() throws InterruptedException {
+        ChatMessageWriter writer = new ChatMessageWriter(blockingSink, 100, 4, 20, 10, Clock.systemUTC());
+
+        Assertions.assertTrue(writer.offer(message("first")));
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(writer.offer(message("m" + i)));
+        }
+        release.countDown();
+        writer.shutdown();
+
+        Assertions.assertEquals(List.of(1, 4, 4, 2), batches.stream().map(List::size).toList());
+        ChatDto.WriterStats stats = writer.stats();
+        Assertions.assertEquals(11, stats.accepted());
+        Assertions.assertEquals(11, stats.persisted());
+        Assertions.assertEquals(4, stats.batches());
+        Assertions.assertEquals(0, stats.queueDepth());
+    }
+
+    @Test
+    void offerRefusesOnceQueueStaysFull() throws InterruptedException {
+        ChatMessageWriter writer = new ChatMessageWriter(blockingSink, 2, 10, 5, 10, Clock.systemUTC());
+
+        Assertions.assertTrue(writer.offer(message("in flight")));
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(writer.offer(message("queued 1")));
+        Assertions.assertTrue(writer.offer(message("queued 2")));
+        Assertions.assertFalse(writer.offer(message("rejected")));
+
+        ChatDto.WriterStats stats = writer.stats();
+        Assertions.assertEquals(3, stats.accepted());
+        Assertions.assertEquals(1, stats.rejected());
+        Assertions.assertEquals(2, stats.queueDepth());
+
+        release.countDown();
+        writer.shutdown();
+        Assertions.assertEquals(3, writer.stats().persisted());
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowSoOnlyTheBadMessageIsDropped() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        ChatMessageWriter writer = new ChatMessageWriter(batch -> {
+            if (batch.stream().anyMatch(message -> message.getContent().equals("bad"))) {
+                throw new IllegalStateException("room deleted");
+            }
+            batch.forEach(message -> written.add(message.getContent()));
+        }, 10, 3, 1000, 10, Clock.systemUTC());
+
+        writer.offer(message("a"));
+        writer.offer(message("bad"));
+        writer.offer(message("b"));
+        writer.shutdown();
+
+        Assertions.assertEquals(List.of("a", "b"), written);
+        Assertions.assertEquals(2, writer.stats().persisted());
+        Assertions.assertEquals(1, writer.stats().failed());
+    }
+
+    @Test
+    void offerAfterShutdownIsRefused() {
+        ChatMessageWriter writer = new ChatMessageWriter(batch -> { }, 10, 10, 5, 10, Clock.systemUTC());
+        writer.shutdown();
+
+        Assertions.assertFalse(writer.offer(message("late")));
+        Assertions.assertEquals(1, writer.stats().rejected());
+    }
+
+    private static ChatMessage message(String content) {
+        return new ChatMessage(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), content, OffsetDateTime.now());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
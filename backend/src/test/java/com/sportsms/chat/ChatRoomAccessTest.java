@@ -0,0 +1,72 @@
+package com.sportsms.chat;
+
+import com.sportsms.user.Role;
+import com.sportsms.user.UserLookupCache;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatRoomAccessTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private ChatParticipantRepository participantRepository;
+
+    @Mock
+    private ChatRoomRepository roomRepository;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    private final Principal principal = () -> "player@sportsms.com";
+    private final UUID roomId = UUID.randomUUID();
+    private final UserLookupCache.CachedUser player = new UserLookupCache.CachedUser(UUID.randomUUID(),
+            "player@sportsms.com", "Pat Player", "hash", Set.of(Role.PLAYER), NOW);
+
+    @Test
+    void cachesDecisionsUntilTheRoomIsEvicted() {
+        ChatRoomAccess access = access();
+        when(userLookupCache.findByEmail(principal.getName())).thenReturn(Optional.of(player));
+        when(participantRepository.existsByRoomIdAndUserId(roomId, player.id())).thenReturn(false, true);
+
+        Assertions.assertFalse(access.canAccess(principal, roomId));
+        Assertions.assertFalse(access.canAccess(principal, roomId));
+        access.evictRoom(roomId);
+        Assertions.assertTrue(access.canAccess(principal, roomId));
+        verify(participantRepository, times(2)).existsByRoomIdAndUserId(roomId, player.id());
+    }
+
+    @Test
+    void evictionDuringTheQueryKeepsTheOldAnswerOutOfTheCache() {
+        ChatRoomAccess access = access();
+        when(userLookupCache.findByEmail(principal.getName())).thenReturn(Optional.of(player));
+        when(participantRepository.existsByRoomIdAndUserId(roomId, player.id())).thenAnswer(invocation -> {
+            // createRoom commits the new participant and evicts while this query still sees the old rows.
+            access.evictRoom(roomId);
+            return false;
+        }).thenReturn(true);
+
+        Assertions.assertFalse(access.canAccess(principal, roomId));
+        Assertions.assertTrue(access.canAccess(principal, roomId));
+    }
+
+    private ChatRoomAccess access() {
+        return new ChatRoomAccess(participantRepository, roomRepository, userLookupCache, 16, Duration.ofMinutes(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,160 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.NotFoundException;
+import com.sportsms.user.Role;
+import com.sportsms.user.UserLookupCache;
+import com.sportsms.user.UserRepository;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private ChatRoomRepository roomRepository;
+
+    @Mock
+    private ChatParticipantRepository participantRepository;
+
+    @Mock
+    private ChatMessageRepository messageRepository;
+
+    @Mock
+    private ChatRoomAccess roomAccess;
+
+    @Mock
+    private ChatMessageWriter messageWriter;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final Principal principal = () -> "coach@sportsms.com";
+    private final UUID roomId = UUID.randomUUID();
+    private final UserLookupCache.CachedUser coach = new UserLookupCache.CachedUser(UUID.randomUUID(),
+            "coach@sportsms.com", "Casey Coach", "hash", Set.of(Role.COACH), NOW);
+
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        chatService = new ChatService(roomRepository, participantRepository, messageRepository, roomAccess,
+                messageWriter, messagingTemplate, userLookupCache, userRepository, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void sendQueuesMessageThenBroadcastsItOnRoomTopic() {
+        when(roomAccess.member(principal, roomId)).thenReturn(Optional.of(coach));
+        when(messageWriter.offer(any())).thenReturn(true);
+
+        ChatDto.MessageResponse response = chatService.send(principal, roomId, "  Training moved to 6pm ");
+
+        ArgumentCaptor<ChatMessage> queued = ArgumentCaptor.forClass(ChatMessage.class);
+        verify(messageWriter).offer(queued.capture());
+        Assertions.assertEquals(response.id(), queued.getValue().getId());
+        Assertions.assertEquals("Training moved to 6pm", queued.getValue().getContent());
+        Assertions.assertEquals(OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC), response.sentAt());
+        Assertions.assertEquals("Casey Coach", response.senderName());
+        verify(messagingTemplate).convertAndSend("/topic/rooms/" + roomId, response);
+    }
+
+    @Test
+    void sendWhenWriteQueueIsFullIsRejectedWithoutBroadcast() {
+        when(roomAccess.member(principal, roomId)).thenReturn(Optional.of(coach));
+        when(messageWriter.offer(any())).thenReturn(false);
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> chatService.send(principal, roomId, "hi"));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void sendToRoomCallerIsNotInIsNotFound() {
+        when(roomAccess.member(principal, roomId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> chatService.send(principal, roomId, "hi"));
+        verify(messageWriter, never()).offer(any());
+    }
+
+    @Test
+    void sendRejectsBlankAndOversizedMessages() {
+        when(roomAccess.member(principal, roomId)).thenReturn(Optional.of(coach));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> chatService.send(principal, roomId, "   "));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> chatService.send(principal, roomId,
+                "x".repeat(ChatService.MAX_CONTENT_LENGTH + 1)));
+        verify(messageWriter, never()).offer(any());
+    }
+
+    @Test
+    void historyReturnsCursorToTheLastItemWhenMoreRowsRemain() {
+        when(roomAccess.canAccess(principal, roomId)).thenReturn(true);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), roomId, coach.id(), "Casey Coach", "m" + i,
+                    OffsetDateTime.ofInstant(NOW.minusSeconds(i), ZoneOffset.UTC)});
+        }
+        when(messageRepository.findPage(roomId, null, null, 3)).thenReturn(rows);
+
+        ChatDto.MessagePage page = chatService.history(principal, roomId, null, 2);
+
+        Assertions.assertEquals(List.of("m0", "m1"), page.items().stream().map(ChatDto.MessageResponse::content).toList());
+        ChatCursor cursor = ChatCursor.decode(page.nextCursor());
+        Assertions.assertEquals(page.items().get(1).id(), cursor.id());
+        Assertions.assertEquals(page.items().get(1).sentAt(), cursor.sentAt());
+
+        when(messageRepository.findPage(eq(roomId), eq(cursor.sentAt()), eq(cursor.id()), eq(3)))
+                .thenReturn(List.<Object[]>of(rows.get(2)));
+        ChatDto.MessagePage next = chatService.history(principal, roomId, page.nextCursor(), 2);
+        Assertions.assertEquals(1, next.items().size());
+        Assertions.assertNull(next.nextCursor());
+    }
+
+    @Test
+    void historyOfRoomCallerCannotAccessIsNotFound() {
+        when(roomAccess.canAccess(principal, roomId)).thenReturn(false);
+
+        Assertions.assertThrows(NotFoundException.class, () -> chatService.history(principal, roomId, null, null));
+    }
+
+    @Test
+    void createRoomWithUnknownParticipantIsRejectedBeforeAnythingIsSaved() {
+        UUID unknown = UUID.randomUUID();
+        when(userLookupCache.findByEmail("coach@sportsms.com")).thenReturn(Optional.of(coach));
+        when(userRepository.countByIdIn(Set.of(coach.id(), unknown))).thenReturn(1L);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> chatService.createRoom(principal,
+                new ChatDto.RoomRequest(ChatRoomType.GROUP, null, null, List.of(unknown))));
+        verify(roomRepository, never()).save(any());
+        verify(participantRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,44 @@
+package com.sportsms.chat;
+
+import com.sportsms.common.NotFoundException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ChatStompControllerTest {
+    @Mock
+    private ChatService chatService;
+
+    @Test
+    void sendFrameIsHandedToChatServiceAsTheSessionUser() {
+        Principal principal = () -> "coach@sportsms.com";
+        UUID roomId = UUID.randomUUID();
+
+        new ChatStompController(chatService).send(roomId, new ChatDto.SendMessageRequest("hello"), principal);
+
+        verify(chatService).send(principal, roomId, "hello");
+    }
+
+    @Test
+    void errorsAreReportedWithoutLeakingInternals() {
+        ChatStompController controller = new ChatStompController(chatService);
+
+        Assertions.assertEquals(Map.of("error", "Chat room not found"),
+                controller.handleError(new NotFoundException("Chat room not found")));
+        Assertions.assertEquals(Map.of("error", "Message is empty"),
+                controller.handleError(new IllegalArgumentException("Message is empty")));
+        Assertions.assertEquals(Map.of("error", "Server is busy, please retry shortly"),
+                controller.handleError(new RejectedExecutionException("Chat write queue is full")));
+        Assertions.assertEquals(Map.of("error", "Message could not be sent"),
+                controller.handleError(new IllegalStateException("connection reset")));
+    }
+}
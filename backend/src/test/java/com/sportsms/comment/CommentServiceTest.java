@@ -0,0 +1,125 @@
+package com.sportsms.comment;
+
+import com.sportsms.common.NotFoundException;
+import com.sportsms.post.Post;
+import com.sportsms.post.PostRepository;
+import com.sportsms.post.PublishedPostCache;
+import com.sportsms.user.Role;
+import com.sportsms.user.User;
+import com.sportsms.user.UserLookupCache;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private PublishedPostCache publishedPostCache;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    @Test
+    void addIncrementsCountAndTakesAuthorNameFromCache() {
+        UUID postId = UUID.randomUUID();
+        User author = new User();
+        author.setId(UUID.randomUUID());
+        author.setEmail("fan@example.com");
+        author.setFullName("Fan Name");
+        author.setRoles(Set.of(Role.VIEWER));
+        when(postRepository.adjustCommentCount(postId, 1)).thenReturn(1);
+        when(postRepository.getReferenceById(postId)).thenReturn(new Post());
+        when(userLookupCache.findByEmail("fan@example.com"))
+                .thenReturn(Optional.of(new UserLookupCache.CachedUser(author.getId(), author.getEmail(),
+                        author.getFullName(), "hash", author.getRoles(), Instant.now())));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Comment comment = commentService.add(postId, new CommentDto.CommentRequest("Great match"), "fan@example.com");
+
+        Assertions.assertEquals("Fan Name", comment.getAuthorName());
+        verify(publishedPostCache).invalidate(postId);
+    }
+
+    @Test
+    void addThrowsWhenPostMissing() {
+        UUID postId = UUID.randomUUID();
+        when(postRepository.adjustCommentCount(postId, 1)).thenReturn(0);
+
+        Assertions.assertThrows(NotFoundException.class,
+                () -> commentService.add(postId, new CommentDto.CommentRequest("Hello"), "fan@example.com"));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void deleteDecrementsCountOfOwningPost() {
+        UUID commentId = UUID.randomUUID();
+        UUID postId = UUID.randomUUID();
+        when(commentRepository.findPostId(commentId)).thenReturn(Optional.of(postId));
+        when(commentRepository.deleteComment(commentId)).thenReturn(1);
+
+        commentService.delete(commentId);
+
+        verify(postRepository).adjustCommentCount(postId, -1);
+    }
+
+    @Test
+    void listUsesDenormalizedCountAsTotal() {
+        UUID postId = UUID.randomUUID();
+        PageRequest pageable = PageRequest.of(0, 2);
+        when(commentRepository.findByPostId(postId, pageable)).thenReturn(List.of(new Comment(), new Comment()));
+        when(postRepository.findCommentCount(postId)).thenReturn(Optional.of(7));
+
+        Page<Comment> page = commentService.list(postId, pageable);
+
+        Assertions.assertEquals(7, page.getTotalElements());
+        Assertions.assertEquals(4, page.getTotalPages());
+    }
+
+    @Test
+    void latestForPostsGroupsRowsAndKeepsPostsWithoutComments() {
+        UUID withComments = UUID.randomUUID();
+        UUID withoutComments = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2024-05-01T10:00:00Z");
+        List<Object[]> rows = List.<Object[]>of(
+                new Object[] {UUID.randomUUID(), withComments, null, "Guest", "First", createdAt});
+        when(commentRepository.findLatestByPostIds(List.of(withComments, withoutComments), 3)).thenReturn(rows);
+
+        Map<UUID, List<CommentDto.CommentResponse>> latest =
+                commentService.latestForPosts(List.of(withComments, withoutComments), 3);
+
+        Assertions.assertEquals("Guest", latest.get(withComments).get(0).authorName());
+        Assertions.assertEquals(createdAt, latest.get(withComments).get(0).createdAt());
+        Assertions.assertTrue(latest.get(withoutComments).isEmpty());
+    }
+
+    @Test
+    void latestForPostsRejectsOversizedRequests() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> commentService.latestForPosts(List.of(UUID.randomUUID()), CommentService.MAX_COMMENTS_PER_POST + 1));
+    }
+}
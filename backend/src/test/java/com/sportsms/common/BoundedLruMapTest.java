@@ -0,0 +1,22 @@
+package com.sportsms.common;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BoundedLruMapTest {
+
+    @Test
+    void dropsLeastRecentlyUsedEntryBeyondMaxEntries() {
+        AtomicInteger evictions = new AtomicInteger();
+        BoundedLruMap<String, Integer> map = new BoundedLruMap<>(2, evictions::incrementAndGet);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.get("a");
+        map.put("c", 3);
+
+        Assertions.assertEquals(List.of("a", "c"), List.copyOf(map.keySet()));
+        Assertions.assertEquals(1, evictions.get());
+    }
+}
@@ -0,0 +1,66 @@
+package com.sportsms.common;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSnapshotTest {
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private DashboardSnapshot dashboardSnapshot;
+
+    @Test
+    void refreshPublishesOnlyChangedSections() {
+        DashboardDto.DashboardResponse first = dashboard(3, 1);
+        DashboardDto.DashboardResponse second = dashboard(3, 2);
+        when(dashboardService.getDashboard()).thenReturn(first, first, second);
+
+        dashboardSnapshot.refresh();
+        dashboardSnapshot.refresh();
+        dashboardSnapshot.refresh();
+
+        ArgumentCaptor<DashboardDto.DashboardUpdate> updates = ArgumentCaptor.forClass(DashboardDto.DashboardUpdate.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq(DashboardSnapshot.TOPIC), updates.capture());
+        DashboardDto.DashboardUpdate initial = updates.getAllValues().get(0);
+        Assertions.assertEquals(1, initial.version());
+        Assertions.assertEquals(first.summary(), initial.summary());
+        DashboardDto.DashboardUpdate change = updates.getAllValues().get(1);
+        Assertions.assertEquals(2, change.version());
+        Assertions.assertNull(change.summary());
+        Assertions.assertEquals(2L, change.unreadMessages());
+        Assertions.assertSame(second, dashboardSnapshot.get());
+    }
+
+    @Test
+    void getBuildsSnapshotWhenSchedulerHasNotRunYet() {
+        DashboardDto.DashboardResponse dashboard = dashboard(1, 0);
+        when(dashboardService.getDashboard()).thenReturn(dashboard);
+
+        Assertions.assertSame(dashboard, dashboardSnapshot.get());
+        Assertions.assertSame(dashboard, dashboardSnapshot.get());
+        verify(dashboardService, times(1)).getDashboard();
+    }
+
+    private static DashboardDto.DashboardResponse dashboard(long clubs, long unread) {
+        return new DashboardDto.DashboardResponse(
+                new DashboardDto.Summary(clubs, 0, 0, 0, 0, 0, 0), List.of(), List.of(),
+                new DashboardDto.BookingSummary(0, 0), unread, List.of(), List.of());
+    }
+}
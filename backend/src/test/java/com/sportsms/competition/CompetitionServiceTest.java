@@ -1,6 +1,7 @@
 package com.sportsms.competition;
 
 import com.sportsms.common.NotFoundException;
+import com.sportsms.standings.StandingsService;
 import com.sportsms.team.Team;
 import com.sportsms.team.TeamRepository;
 import java.time.LocalDate;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +30,9 @@ class CompetitionServiceTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private StandingsService standingsService;
+
     @InjectMocks
     private CompetitionService competitionService;
 
@@ -62,6 +67,20 @@ class CompetitionServiceTest {
         Assertions.assertThrows(NotFoundException.class, () -> competitionService.deleteSeason(seasonId));
     }
 
+    @Test
+    void deletingSeasonsAndCompetitionsDropsTheirStandings() {
+        UUID seasonId = UUID.randomUUID();
+        UUID competitionId = UUID.randomUUID();
+        when(seasonRepository.existsById(seasonId)).thenReturn(true);
+        when(competitionRepository.existsById(competitionId)).thenReturn(true);
+
+        competitionService.deleteSeason(seasonId);
+        competitionService.deleteCompetition(competitionId);
+
+        verify(standingsService).seasonDeleted(seasonId);
+        verify(standingsService).competitionDeleted(competitionId);
+    }
+
     @Test
     void createCompetitionAssignsTeams() {
         UUID teamId = UUID.randomUUID();
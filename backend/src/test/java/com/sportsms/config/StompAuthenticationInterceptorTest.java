@@ -0,0 +1,74 @@
+package com.sportsms.config;
+
+import com.sportsms.auth.JwtTokenVerifier;
+import io.jsonwebtoken.ExpiredJwtException;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthenticationInterceptorTest {
+    @Mock
+    private JwtTokenVerifier tokenVerifier;
+
+    @Test
+    void connectWithBearerTokenSetsSessionUser() {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                "coach@sportsms.com", null, List.of(new SimpleGrantedAuthority("ROLE_COACH")));
+        when(tokenVerifier.authenticate("good-token")).thenReturn(authentication);
+
+        Message<?> result = interceptor().preSend(frame(StompCommand.CONNECT, "Bearer good-token"), null);
+
+        Assertions.assertSame(authentication, StompHeaderAccessor.wrap(result).getUser());
+    }
+
+    @Test
+    void connectWithoutTokenIsRefused() {
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor().preSend(frame(StompCommand.CONNECT, null), null));
+    }
+
+    @Test
+    void connectWithInvalidTokenIsRefused() {
+        when(tokenVerifier.authenticate("expired")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor().preSend(frame(StompCommand.CONNECT, "Bearer expired"), null));
+    }
+
+    @Test
+    void framesOtherThanConnectPassThrough() {
+        Message<?> subscribe = frame(StompCommand.SUBSCRIBE, null);
+
+        Assertions.assertSame(subscribe, interceptor().preSend(subscribe, null));
+        verify(tokenVerifier, never()).authenticate(any());
+    }
+
+    private StompAuthenticationInterceptor interceptor() {
+        return new StompAuthenticationInterceptor(tokenVerifier);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        if (authorization != null) {
+            accessor.addNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,93 @@
+package com.sportsms.config;
+
+import com.sportsms.chat.ChatRoomAccess;
+import com.sportsms.common.DashboardSnapshot;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StompDestinationInterceptorTest {
+    private static final UsernamePasswordAuthenticationToken PLAYER = new UsernamePasswordAuthenticationToken(
+            "player@sportsms.com", null, List.of(new SimpleGrantedAuthority("ROLE_PLAYER")));
+    private static final UsernamePasswordAuthenticationToken ADMIN = new UsernamePasswordAuthenticationToken(
+            "admin@sportsms.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Mock
+    private ChatRoomAccess chatRoomAccess;
+
+    @Test
+    void patternSubscriptionsAreRefusedEvenForAdmins() {
+        for (String destination : List.of("/topic/**", "/topic/*", "/topic/rooms*", "/topic/rooms/**",
+                "/topic/dash?oard", "/user/queue/*")) {
+            Assertions.assertThrows(AccessDeniedException.class,
+                    () -> interceptor().preSend(frame(StompCommand.SUBSCRIBE, destination, ADMIN), null), destination);
+        }
+        verify(chatRoomAccess, never()).canAccess(any(), any());
+    }
+
+    @Test
+    void roomSubscriptionNeedsMembership() {
+        UUID member = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        when(chatRoomAccess.canAccess(PLAYER, member)).thenReturn(true);
+        when(chatRoomAccess.canAccess(PLAYER, other)).thenReturn(false);
+
+        Message<?> subscribe = frame(StompCommand.SUBSCRIBE, "/topic/rooms/" + member, PLAYER);
+        Assertions.assertSame(subscribe, interceptor().preSend(subscribe, null));
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor().preSend(frame(StompCommand.SUBSCRIBE, "/topic/rooms/" + other, PLAYER), null));
+    }
+
+    @Test
+    void onlyExactKnownDestinationsCanBeSubscribed() {
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor().preSend(frame(StompCommand.SUBSCRIBE, DashboardSnapshot.TOPIC, PLAYER), null));
+        Message<?> dashboard = frame(StompCommand.SUBSCRIBE, DashboardSnapshot.TOPIC, ADMIN);
+        Assertions.assertSame(dashboard, interceptor().preSend(dashboard, null));
+        Message<?> errors = frame(StompCommand.SUBSCRIBE, "/user/queue/errors", PLAYER);
+        Assertions.assertSame(errors, interceptor().preSend(errors, null));
+
+        for (String destination : List.of("/topic//dashboard", "/topic/rooms/not-a-room", "/topic/rooms/1-1-1-1-1",
+                "/queue/errors-user1234", "/topic/unknown")) {
+            Assertions.assertThrows(AccessDeniedException.class,
+                    () -> interceptor().preSend(frame(StompCommand.SUBSCRIBE, destination, ADMIN), null), destination);
+        }
+    }
+
+    @Test
+    void clientsCannotPublishToBrokerDestinations() {
+        Assertions.assertThrows(AccessDeniedException.class,
+                () -> interceptor().preSend(frame(StompCommand.SEND, "/topic/rooms/" + UUID.randomUUID(), ADMIN), null));
+        Message<?> send = frame(StompCommand.SEND, "/app/rooms/" + UUID.randomUUID() + "/send", PLAYER);
+        Assertions.assertSame(send, interceptor().preSend(send, null));
+    }
+
+    private StompDestinationInterceptor interceptor() {
+        return new StompDestinationInterceptor(chatRoomAccess);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination,
+                                         UsernamePasswordAuthenticationToken user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -1,33 +1,171 @@
 package com.sportsms.facility;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.sportsms.club.ClubRepository;
 import com.sportsms.user.UserRepository;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 
 class FacilityServiceTest {
-    @Test
-    void detectsBookingConflict() {
-        FacilityRepository facilities = Mockito.mock(FacilityRepository.class);
-        FacilityBookingRepository bookings = Mockito.mock(FacilityBookingRepository.class);
-        MaintenanceScheduleRepository maintenance = Mockito.mock(MaintenanceScheduleRepository.class);
-        UserRepository users = Mockito.mock(UserRepository.class);
-        ClubRepository clubs = Mockito.mock(ClubRepository.class);
-        FacilityService service = new FacilityService(facilities, bookings, maintenance, users, clubs);
-
-        UUID id = UUID.randomUUID();
+    private final FacilityRepository facilities = Mockito.mock(FacilityRepository.class);
+    private final FacilityBookingRepository bookings = Mockito.mock(FacilityBookingRepository.class);
+    private final MaintenanceScheduleRepository maintenance = Mockito.mock(MaintenanceScheduleRepository.class);
+    private final UserRepository users = Mockito.mock(UserRepository.class);
+    private final ClubRepository clubs = Mockito.mock(ClubRepository.class);
+    private final UUID id = UUID.randomUUID();
+    private final OffsetDateTime start = OffsetDateTime.now().plusDays(1);
+    private FacilityService service;
+
+    @BeforeEach
+    void setUp() {
+        FacilityAvailabilityIndex index = new FacilityAvailabilityIndex(bookings, maintenance, 16,
+                Duration.ofMinutes(1), Duration.ofDays(1), Clock.systemUTC());
+        service = new FacilityService(facilities, bookings, maintenance, users, clubs, index,
+                new FreeBusyCache(64, Duration.ofMinutes(1), Clock.systemUTC()));
         when(facilities.findById(id)).thenReturn(Optional.of(new Facility()));
         when(users.findById(any())).thenReturn(Optional.of(new com.sportsms.user.User()));
-        when(bookings.findByFacilityIdAndEndDateTimeAfterAndStartDateTimeBefore(eq(id), any(), any())).thenReturn(List.of(new FacilityBooking()));
+        when(bookings.saveAndFlush(any())).thenAnswer(invocation -> {
+            FacilityBooking booking = invocation.getArgument(0);
+            booking.init();
+            return booking;
+        });
+    }
+
+    @Test
+    void detectsBookingConflict() {
+        when(bookings.findLiveIntervals(eq(id), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {UUID.randomUUID(), start, start.plusHours(2)}));
+
+        assertThrows(IllegalArgumentException.class, () -> service.createBooking(request(start.plusHours(1), start.plusHours(3))));
+        verify(bookings, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void acceptedBookingsAreIndexedWithoutReloading() {
+        service.createBooking(request(start, start.plusHours(1)));
+
+        assertThrows(IllegalArgumentException.class, () -> service.createBooking(request(start.plusMinutes(30), start.plusHours(2))));
+        service.createBooking(request(start.plusHours(1), start.plusHours(2)));
+        verify(bookings, times(1)).findLiveIntervals(eq(id), any(), any());
+    }
+
+    @Test
+    void exclusionViolationBecomesConflictAndResyncsIndex() {
+        doThrow(new DataIntegrityViolationException("insert failed",
+                new SQLException("conflicting key value violates exclusion constraint \"facility_bookings_no_overlap\"", "23P01")))
+                .when(bookings).saveAndFlush(any());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.createBooking(request(start, start.plusHours(1))));
+        assertEquals("Booking conflict detected", ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> service.createBooking(request(start, start.plusHours(1))));
+        verify(bookings, times(2)).findLiveIntervals(eq(id), any(), any());
+    }
+
+    @Test
+    void rejectsSlotInsideMaintenance() {
+        when(maintenance.existsOverlap(eq(id), any(), any())).thenReturn(true);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.createBooking(request(start, start.plusHours(1))));
+        assertEquals("Facility is under maintenance for selected slot", ex.getMessage());
+    }
+
+    @Test
+    void rejectsEmptySlot() {
+        assertThrows(IllegalArgumentException.class, () -> service.createBooking(request(start, start)));
+    }
+
+    @Test
+    void availabilityMarksBusySlotsAndRebuildsDaysAfterBooking() {
+        Facility facility = new Facility();
+        facility.init();
+        facility.setName("Pitch");
+        UUID facilityId = facility.getId();
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(2);
+        OffsetDateTime midnight = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+        when(facilities.findAllById(List.of(facilityId))).thenReturn(List.of(facility));
+        when(facilities.findById(facilityId)).thenReturn(Optional.of(facility));
+        when(bookings.findLiveIntervals(eq(facilityId), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {UUID.randomUUID(), midnight.plusHours(1), midnight.plusHours(2)}));
+
+        AvailabilityResponse first = service.availability(day, 2, ZoneOffset.UTC, List.of(facilityId));
+        DayAvailability busyDay = first.facilities().get(0).days().get(0);
+        assertEquals(96, busyDay.slots());
+        // Slots 4-7 (01:00-02:00) are the high nibble of the first byte.
+        assertEquals((byte) 0xF0, Base64.getDecoder().decode(busyDay.busy())[0]);
+        assertEquals(4, BitSet.valueOf(Base64.getDecoder().decode(busyDay.busy())).cardinality());
+        assertEquals(0, BitSet.valueOf(Base64.getDecoder().decode(first.facilities().get(0).days().get(1).busy())).cardinality());
+
+        assertEquals(first, service.availability(day, 2, ZoneOffset.UTC, List.of(facilityId)));
+        verify(bookings, times(1)).findLiveIntervals(eq(facilityId), any(), any());
+
+        service.createBooking(new FacilityBookingRequest(facilityId, UUID.randomUUID(), null,
+                midnight.plusHours(25), midnight.plusMinutes(25 * 60 + 10), false, ""));
+        AvailabilityResponse second = service.availability(day, 2, ZoneOffset.UTC, List.of(facilityId));
+        // 01:00-01:10 on the second day still occupies the whole 01:00 slot.
+        assertEquals(1, BitSet.valueOf(Base64.getDecoder().decode(second.facilities().get(0).days().get(1).busy())).cardinality());
+        assertEquals((byte) 0x10, Base64.getDecoder().decode(second.facilities().get(0).days().get(1).busy())[0]);
+    }
+
+    @Test
+    void weekSharesSplitBookingsAtUtcMondays() {
+        // Sunday 2026-10-18 22:00 to Monday 01:30 (UTC).
+        OffsetDateTime sunday = OffsetDateTime.of(2026, 10, 18, 22, 0, 0, 0, ZoneOffset.UTC);
+
+        List<WeekShare> shares = FacilityService.weekShares(sunday, sunday.plusMinutes(210));
+
+        assertEquals(List.of(new WeekShare(LocalDate.of(2026, 10, 12), 120, true),
+                new WeekShare(LocalDate.of(2026, 10, 19), 90, false)), shares);
+    }
+
+    @Test
+    void bookingLifecycleMovesWeeklyRollup() {
+        Facility facility = new Facility();
+        facility.setPricePerHour(new BigDecimal("40.00"));
+        when(facilities.findById(id)).thenReturn(Optional.of(facility));
+        OffsetDateTime monday = OffsetDateTime.of(2026, 11, 2, 10, 0, 0, 0, ZoneOffset.UTC);
+        LocalDate week = LocalDate.of(2026, 11, 2);
+
+        FacilityBooking booking = service.createBooking(request(monday, monday.plusMinutes(90)));
+        verify(bookings).addToWeeklyRollup(week, id, 90, 0, 1, new BigDecimal("60.00"));
+
+        when(bookings.findByIdForUpdate(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookings.save(booking)).thenReturn(booking);
+        service.updateBookingStatus(booking.getId(), BookingStatus.APPROVED);
+        verify(bookings).addToWeeklyRollup(week, id, -90, 0, -1, new BigDecimal("-60.00"));
+        verify(bookings).addToWeeklyRollup(week, id, 90, 90, 1, new BigDecimal("60.00"));
+
+        service.updateBookingStatus(booking.getId(), BookingStatus.CANCELLED);
+        verify(bookings).addToWeeklyRollup(week, id, -90, -90, -1, new BigDecimal("-60.00"));
+        assertThrows(IllegalArgumentException.class, () -> service.updateBookingStatus(booking.getId(), BookingStatus.APPROVED));
+
+        // The cancelled slot is free again without reloading the index.
+        service.createBooking(request(monday, monday.plusMinutes(90)));
+        verify(bookings, times(1)).findLiveIntervals(eq(id), any(), any());
+    }
 
-        assertThrows(IllegalArgumentException.class, () -> service.createBooking(new FacilityBookingRequest(id, UUID.randomUUID(), null, OffsetDateTime.now(), OffsetDateTime.now().plusHours(1), false, "")));
+    private FacilityBookingRequest request(OffsetDateTime from, OffsetDateTime to) {
+        return new FacilityBookingRequest(id, UUID.randomUUID(), null, from, to, false, "");
     }
 }
@@ -0,0 +1,52 @@
+package com.sportsms.facility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTest {
+    @Test
+    void overlapQueriesMatchLinearScanThroughInsertsAndRemovals() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<IntervalTree.Interval> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            if (!expected.isEmpty() && random.nextInt(4) == 0) {
+                IntervalTree.Interval removed = expected.remove(random.nextInt(expected.size()));
+                Assertions.assertTrue(tree.remove(removed));
+            } else {
+                long start = random.nextInt(10_000);
+                IntervalTree.Interval interval = new IntervalTree.Interval(start, start + 1 + random.nextInt(200),
+                        UUID.randomUUID(), IntervalTree.Kind.BOOKING);
+                tree.insert(interval);
+                expected.add(interval);
+            }
+            long from = random.nextInt(10_000);
+            long to = from + 1 + random.nextInt(300);
+            List<IntervalTree.Interval> overlapping = expected.stream()
+                    .filter(interval -> interval.start() < to && from < interval.end())
+                    .sorted(Comparator.comparingLong(IntervalTree.Interval::start).thenComparing(IntervalTree.Interval::id))
+                    .toList();
+            List<IntervalTree.Interval> actual = new ArrayList<>();
+            tree.forEachOverlap(from, to, actual::add);
+
+            Assertions.assertEquals(overlapping, actual);
+            Assertions.assertEquals(overlapping.isEmpty() ? null : overlapping.get(0), tree.firstOverlap(from, to));
+            Assertions.assertEquals(expected.size(), tree.size());
+        }
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(new IntervalTree.Interval(10, 20, UUID.randomUUID(), IntervalTree.Kind.BOOKING));
+
+        Assertions.assertNull(tree.firstOverlap(20, 30));
+        Assertions.assertNull(tree.firstOverlap(0, 10));
+        Assertions.assertNotNull(tree.firstOverlap(19, 21));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sportsms.fixture;
+
+import com.sportsms.competition.Competition;
+import com.sportsms.competition.Season;
+import com.sportsms.team.Team;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FixtureRepositoryTest {
+
+    @Autowired
+    private FixtureRepository fixtureRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findListingStatementCountDoesNotGrowWithFixtureCount() {
+        Competition competition = new Competition();
+        competition.setName("League");
+        entityManager.persist(competition);
+        Season season = new Season();
+        season.setName("2024/25");
+        season.setStartDate(LocalDate.of(2024, 8, 1));
+        season.setEndDate(LocalDate.of(2025, 5, 31));
+        entityManager.persist(season);
+
+        seedFixtures(competition, season, 3);
+        long fewFixtures = countListingStatements(competition, season, 3);
+
+        seedFixtures(competition, season, 12);
+        long manyFixtures = countListingStatements(competition, season, 15);
+
+        Assertions.assertEquals(fewFixtures, manyFixtures);
+    }
+
+    private long countListingStatements(Competition competition, Season season, int expectedFixtures) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Fixture> fixtures = fixtureRepository.findListing(competition.getId(), season.getId(), null, null, null);
+        fixtures.forEach(fixture -> {
+            fixture.getHomeTeam().getName();
+            fixture.getAwayTeam().getName();
+            fixture.getCompetition().getName();
+            fixture.getSeason().getName();
+            fixture.getGoals().forEach(goal -> goal.getTeam().getName());
+        });
+
+        Assertions.assertEquals(expectedFixtures, fixtures.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedFixtures(Competition competition, Season season, int count) {
+        for (int i = 0; i < count; i++) {
+            Team home = team("Home " + i);
+            Team away = team("Away " + i);
+            Fixture fixture = new Fixture();
+            fixture.setHomeTeam(home);
+            fixture.setAwayTeam(away);
+            fixture.setCompetition(competition);
+            fixture.setSeason(season);
+            fixture.setVenue("Ground " + i);
+            fixture.setMatchDate(OffsetDateTime.now().plusDays(i));
+            fixture.setStatus(MatchStatus.FINISHED);
+            fixture.setHomeScore(1);
+            fixture.setAwayScore(1);
+            fixture.getGoals().add(goal(fixture, home, 10));
+            fixture.getGoals().add(goal(fixture, away, 80));
+            entityManager.persist(fixture);
+        }
+        entityManager.flush();
+    }
+
+    private Team team(String name) {
+        Team team = new Team();
+        team.setName(name);
+        return entityManager.persist(team);
+    }
+
+    private static FixtureGoal goal(Fixture fixture, Team team, int minute) {
+        FixtureGoal goal = new FixtureGoal();
+        goal.setFixture(fixture);
+        goal.setTeam(team);
+        goal.setScorerName("Scorer");
+        goal.setMinute(minute);
+        return goal;
+    }
+}
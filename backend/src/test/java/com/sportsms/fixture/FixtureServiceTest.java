@@ -5,6 +5,7 @@ import com.sportsms.competition.Competition;
 import com.sportsms.competition.CompetitionRepository;
 import com.sportsms.competition.Season;
 import com.sportsms.competition.SeasonRepository;
+import com.sportsms.standings.StandingsService;
 import com.sportsms.team.Team;
 import com.sportsms.team.TeamRepository;
 import com.sportsms.user.User;
@@ -21,8 +22,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +50,9 @@ class FixtureServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private StandingsService standingsService;
+
     @InjectMocks
     private FixtureService fixtureService;
 
@@ -53,13 +60,49 @@ class FixtureServiceTest {
     void listDelegatesToRepository() {
         UUID competitionId = UUID.randomUUID();
         List<Fixture> fixtures = List.of(new Fixture());
-        when(fixtureRepository.filterFixtures(competitionId, null, null, null, null)).thenReturn(fixtures);
+        when(fixtureRepository.findListing(competitionId, null, null, null, null)).thenReturn(fixtures);
 
         List<Fixture> result = fixtureService.list(competitionId, null, null, null, null);
 
         Assertions.assertEquals(fixtures, result);
     }
 
+    @Test
+    void pageReturnsCursorOnlyWhenMoreFixturesFollow() {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        Fixture first = new Fixture();
+        first.setId(firstId);
+        first.setMatchDate(OffsetDateTime.parse("2024-09-01T15:00:00Z"));
+        when(fixtureRepository.findPageIds(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 2)))).thenReturn(List.of(firstId, secondId));
+        when(fixtureRepository.findListingByIds(List.of(firstId))).thenReturn(List.of(first));
+
+        FixtureService.FixtureSlice page = fixtureService.page(null, null, null, null, null, null, 1);
+
+        Assertions.assertEquals(List.of(first), page.fixtures());
+        FixtureCursor cursor = FixtureCursor.decode(page.nextCursor());
+        Assertions.assertEquals(firstId, cursor.id());
+        Assertions.assertEquals(first.getMatchDate().toInstant(), cursor.matchDate().toInstant());
+
+        when(fixtureRepository.findPageIds(isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(cursor.matchDate()), eq(firstId), eq(PageRequest.of(0, 2)))).thenReturn(List.of(secondId));
+        Fixture second = new Fixture();
+        second.setId(secondId);
+        when(fixtureRepository.findListingByIds(List.of(secondId))).thenReturn(List.of(second));
+
+        FixtureService.FixtureSlice last = fixtureService.page(null, null, null, null, null, page.nextCursor(), 1);
+
+        Assertions.assertEquals(List.of(second), last.fixtures());
+        Assertions.assertNull(last.nextCursor());
+    }
+
+    @Test
+    void pageRejectsMalformedCursor() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> fixtureService.page(null, null, null, null, null, "not-a-cursor", 10));
+    }
+
     @Test
     void createSetsDefaultsAndAssociations() {
         UUID homeId = UUID.randomUUID();
@@ -137,7 +180,7 @@ class FixtureServiceTest {
         Team goalTeam = new Team();
         goalTeam.setId(goalTeamId);
 
-        when(fixtureRepository.findById(fixtureId)).thenReturn(Optional.of(fixture));
+        when(fixtureRepository.findByIdForUpdate(fixtureId)).thenReturn(Optional.of(fixture));
         when(teamRepository.findById(homeId)).thenReturn(Optional.of(home));
         when(teamRepository.findById(awayId)).thenReturn(Optional.of(away));
         when(teamRepository.findById(goalTeamId)).thenReturn(Optional.of(goalTeam));
@@ -154,6 +197,8 @@ class FixtureServiceTest {
 
         Assertions.assertEquals(1, result.getGoals().size());
         Assertions.assertEquals(goalTeam, result.getGoals().get(0).getTeam());
+        verify(standingsService).applyResultChange(isNull(),
+                eq(new FixtureResult(competitionId, seasonId, homeId, awayId, 1, 0)));
     }
 
     @Test
@@ -177,7 +222,7 @@ class FixtureServiceTest {
         Season season = new Season();
         season.setId(seasonId);
 
-        when(fixtureRepository.findById(fixtureId)).thenReturn(Optional.of(fixture));
+        when(fixtureRepository.findByIdForUpdate(fixtureId)).thenReturn(Optional.of(fixture));
         when(teamRepository.findById(homeId)).thenReturn(Optional.of(home));
         when(teamRepository.findById(awayId)).thenReturn(Optional.of(away));
         when(teamRepository.findById(goalTeamId)).thenReturn(Optional.empty());
@@ -191,4 +236,44 @@ class FixtureServiceTest {
 
         Assertions.assertThrows(NotFoundException.class, () -> fixtureService.update(fixtureId, request));
     }
+
+    @Test
+    void updateMovesStandingsFromOldResultToNewResult() {
+        UUID fixtureId = UUID.randomUUID();
+        Team home = new Team();
+        home.setId(UUID.randomUUID());
+        Team away = new Team();
+        away.setId(UUID.randomUUID());
+        Competition competition = new Competition();
+        competition.setId(UUID.randomUUID());
+        Season season = new Season();
+        season.setId(UUID.randomUUID());
+
+        Fixture fixture = new Fixture();
+        fixture.setId(fixtureId);
+        fixture.setHomeTeam(home);
+        fixture.setAwayTeam(away);
+        fixture.setCompetition(competition);
+        fixture.setSeason(season);
+        fixture.setStatus(MatchStatus.FINISHED);
+        fixture.setHomeScore(2);
+        fixture.setAwayScore(1);
+
+        when(fixtureRepository.findByIdForUpdate(fixtureId)).thenReturn(Optional.of(fixture));
+        when(teamRepository.findById(home.getId())).thenReturn(Optional.of(home));
+        when(teamRepository.findById(away.getId())).thenReturn(Optional.of(away));
+        when(competitionRepository.findById(competition.getId())).thenReturn(Optional.of(competition));
+        when(seasonRepository.findById(season.getId())).thenReturn(Optional.of(season));
+        when(fixtureRepository.save(any(Fixture.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FixtureDto.FixtureRequest request = new FixtureDto.FixtureRequest(
+                home.getId(), away.getId(), competition.getId(), season.getId(), null, "Venue",
+                OffsetDateTime.now(), MatchStatus.FINISHED, 1, 1, List.of());
+
+        fixtureService.update(fixtureId, request);
+
+        verify(standingsService).applyResultChange(
+                new FixtureResult(competition.getId(), season.getId(), home.getId(), away.getId(), 2, 1),
+                new FixtureResult(competition.getId(), season.getId(), home.getId(), away.getId(), 1, 1));
+    }
 }
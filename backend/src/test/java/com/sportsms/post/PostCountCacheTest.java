@@ -0,0 +1,63 @@
+package com.sportsms.post;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PostCountCacheTest {
+    private static final PostCountCache.Key KEY = new PostCountCache.Key(PostStatus.PUBLISHED, "derby:*", null, null);
+
+    @Test
+    void concurrentCallersShareOneRecount() throws Exception {
+        PostCountCache cache = new PostCountCache(16, Duration.ofMinutes(1), Clock.systemUTC());
+        AtomicInteger counts = new AtomicInteger();
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<Long> leader = pool.submit(() -> cache.count(KEY, () -> {
+                counts.incrementAndGet();
+                counting.countDown();
+                await(release);
+                return 42L;
+            }));
+            Assertions.assertTrue(counting.await(5, TimeUnit.SECONDS));
+            Future<Long> follower = pool.submit(() -> cache.count(KEY, () -> {
+                counts.incrementAndGet();
+                return -1L;
+            }));
+            release.countDown();
+
+            Assertions.assertEquals(42L, leader.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(42L, follower.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, counts.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedRecountIsNotCached() {
+        PostCountCache cache = new PostCountCache(16, Duration.ofMinutes(1), Clock.systemUTC());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.count(KEY, () -> {
+            throw new IllegalStateException("database down");
+        }));
+        Assertions.assertEquals(7L, cache.count(KEY, () -> 7L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -24,7 +24,8 @@ class PostRepositoryTest {
         post.setUpdatedAt(Instant.now());
         postRepository.save(post);
 
-        Page<Post> results = postRepository.searchPublished("golden", null, null, PageRequest.of(0, 10));
+        Page<Post> results = postRepository.searchPublished("golden", PostService.prefixQuery("golden"), null, null,
+                PageRequest.of(0, 10));
 
         Assertions.assertEquals(1, results.getTotalElements());
         Assertions.assertEquals("League report", results.getContent().get(0).getTitle());
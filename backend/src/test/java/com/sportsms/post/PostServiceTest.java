@@ -0,0 +1,148 @@
+package com.sportsms.post;
+
+import com.sportsms.user.UserLookupCache;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostServiceTest {
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private PostCountCache postCountCache;
+
+    @Spy
+    private PublishedPostCache publishedPostCache = new PublishedPostCache(16, 2);
+
+    @InjectMocks
+    private PostService postService;
+
+    @Test
+    void prefixQueryRequiresEveryWordAsPrefix() {
+        Assertions.assertEquals("golde:* & goal:*", PostService.prefixQuery("Golde  goal!"));
+        Assertions.assertEquals("o:* & neill:*", PostService.prefixQuery("O'Neill"));
+    }
+
+    @Test
+    void prefixQueryIsNullWithoutSearchableWords() {
+        Assertions.assertNull(PostService.prefixQuery(null));
+        Assertions.assertNull(PostService.prefixQuery("&|!"));
+    }
+
+    @Test
+    void searchPublishedPassesTrimmedKeywordAndQuery() {
+        PageRequest page = PageRequest.of(0, 10);
+
+        postService.searchPublished("  derby ", null, null, page);
+
+        verify(postRepository).searchPublished("derby", "derby:*", null, null, page);
+    }
+
+    @Test
+    void feedFetchesOneExtraRowForNextCursorAndNeverCounts() {
+        Post newest = post(Instant.parse("2024-05-02T10:00:00Z"));
+        Post older = post(Instant.parse("2024-05-01T10:00:00Z"));
+        Post oldest = post(Instant.parse("2024-04-30T10:00:00Z"));
+        when(postRepository.findFeedSlice("PUBLISHED", null, null, null, null, null, null, 3))
+                .thenReturn(List.of(newest, older, oldest));
+
+        PostService.PostSlice slice = postService.feed(PostStatus.PUBLISHED, null, null, null, null, 2, false);
+
+        Assertions.assertEquals(List.of(newest, older), slice.posts());
+        Assertions.assertEquals(PostCursor.of(older), PostCursor.decode(slice.nextCursor()));
+        Assertions.assertNull(slice.approximateTotal());
+        verifyNoInteractions(postCountCache);
+    }
+
+    @Test
+    void feedContinuesAfterCursorAndServesCachedTotalOnRequest() {
+        Post last = post(Instant.parse("2024-05-01T10:00:00Z"));
+        PostCursor cursor = PostCursor.of(last);
+        when(postRepository.findFeedSlice(eq("PUBLISHED"), eq("Derby"), eq("derby:*"), any(), any(),
+                eq(cursor.createdAt()), eq(cursor.id()), anyInt())).thenReturn(List.of());
+        when(postCountCache.count(eq(new PostCountCache.Key(PostStatus.PUBLISHED, "derby:*", null, null)), any()))
+                .thenReturn(42L);
+
+        PostService.PostSlice slice = postService.feed(PostStatus.PUBLISHED, "Derby", null, null, cursor.encode(), 20, true);
+
+        Assertions.assertNull(slice.nextCursor());
+        Assertions.assertEquals(42L, slice.approximateTotal());
+    }
+
+    @Test
+    void feedRejectsMalformedCursor() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> postService.feed(PostStatus.PUBLISHED, null, null, null, "not-a-cursor", 20, false));
+    }
+
+    @Test
+    void getPublishedResponseIsCachedUntilPostIsUpdated() {
+        Post post = post(Instant.parse("2024-05-01T10:00:00Z"));
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setTitle("Derby report");
+        when(postRepository.findById(post.getId())).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.getPublishedResponse(post.getId());
+        Assertions.assertEquals("Derby report", postService.getPublishedResponse(post.getId()).title());
+        verify(postRepository, times(1)).findById(post.getId());
+
+        postService.update(post.getId(), new PostDto.PostRequest("Derby recap", "body", null, PostStatus.PUBLISHED));
+
+        Assertions.assertEquals("Derby recap", postService.getPublishedResponse(post.getId()).title());
+        verify(postRepository, times(3)).findById(post.getId());
+    }
+
+    @Test
+    void latestPublishedServesCachedFeedUntilAPostIsPublished() {
+        Post newest = post(Instant.parse("2024-05-02T10:00:00Z"));
+        Post older = post(Instant.parse("2024-05-01T10:00:00Z"));
+        Post oldest = post(Instant.parse("2024-04-30T10:00:00Z"));
+        when(postRepository.findFeedSlice("PUBLISHED", null, null, null, null, null, null, 3))
+                .thenReturn(List.of(newest, older, oldest));
+
+        PostDto.PostSlice first = postService.latestPublished(1);
+        PostDto.PostSlice full = postService.latestPublished(5);
+
+        Assertions.assertEquals(newest.getId(), first.items().get(0).id());
+        Assertions.assertEquals(PostCursor.of(newest), PostCursor.decode(first.nextCursor()));
+        Assertions.assertEquals(2, full.items().size());
+        Assertions.assertNotNull(full.nextCursor());
+        verify(postRepository, times(1)).findFeedSlice("PUBLISHED", null, null, null, null, null, null, 3);
+
+        when(postRepository.findById(older.getId())).thenReturn(Optional.of(older));
+        when(postRepository.save(older)).thenReturn(older);
+        postService.publish(older.getId(), false);
+        postService.latestPublished(1);
+        verify(postRepository, times(2)).findFeedSlice("PUBLISHED", null, null, null, null, null, null, 3);
+    }
+
+    private static Post post(Instant createdAt) {
+        Post post = new Post();
+        post.setId(UUID.randomUUID());
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+}
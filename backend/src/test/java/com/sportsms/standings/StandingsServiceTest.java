@@ -3,11 +3,8 @@ package com.sportsms.standings;
 import com.sportsms.common.NotFoundException;
 import com.sportsms.competition.Competition;
 import com.sportsms.competition.CompetitionRepository;
-import com.sportsms.competition.Season;
 import com.sportsms.competition.SeasonRepository;
-import com.sportsms.fixture.Fixture;
-import com.sportsms.fixture.FixtureRepository;
-import com.sportsms.fixture.MatchStatus;
+import com.sportsms.fixture.FixtureResult;
 import com.sportsms.team.Team;
 import java.util.List;
 import java.util.Optional;
@@ -18,14 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class StandingsServiceTest {
     @Mock
-    private FixtureRepository fixtureRepository;
+    private StandingsRowRepository standingsRowRepository;
 
     @Mock
     private CompetitionRepository competitionRepository;
@@ -33,61 +36,116 @@ class StandingsServiceTest {
     @Mock
     private SeasonRepository seasonRepository;
 
+    @Spy
+    private StandingsCache standingsCache = new StandingsCache(16);
+
     @InjectMocks
     private StandingsService standingsService;
 
     @Test
-    void getStandingsCalculatesPoints() {
+    void getStandingsReadsMaterializedRowsAndListsTeamsWithoutResults() {
         UUID competitionId = UUID.randomUUID();
         UUID seasonId = UUID.randomUUID();
 
-        Team home = new Team();
-        home.setId(UUID.randomUUID());
-        home.setName("Home FC");
+        Team home = team("Home FC");
+        Team away = team("Away FC");
+        Team idle = team("Idle FC");
+
+        Competition competition = new Competition();
+        competition.setId(competitionId);
+        competition.setTeams(Set.of(home, away, idle));
+
+        when(competitionRepository.findById(competitionId)).thenReturn(Optional.of(competition));
+        when(seasonRepository.existsById(seasonId)).thenReturn(true);
+        when(standingsRowRepository.findTable(competitionId, seasonId))
+                .thenReturn(List.of(row(home, 1, 1, 0, 0, 2, 1, 3), row(away, 1, 0, 0, 1, 1, 2, 0)));
+
+        StandingsDto.StandingsResponse response = standingsService.getStandings(competitionId, seasonId).table();
 
-        Team away = new Team();
-        away.setId(UUID.randomUUID());
-        away.setName("Away FC");
+        Assertions.assertEquals(3, response.table().size());
+        StandingsDto.TeamStanding homeRow = find(response, home);
+        Assertions.assertEquals(3, homeRow.points());
+        Assertions.assertEquals(2, homeRow.goalsFor());
+        Assertions.assertEquals(1, homeRow.goalDifference());
+        Assertions.assertEquals(0, find(response, away).points());
+        Assertions.assertEquals(0, find(response, idle).played());
+    }
 
+    @Test
+    void getStandingsServesCachedTableUntilVersionChanges() {
+        UUID competitionId = UUID.randomUUID();
+        UUID seasonId = UUID.randomUUID();
         Competition competition = new Competition();
         competition.setId(competitionId);
-        competition.setTeams(Set.of(home, away));
 
-        Season season = new Season();
-        season.setId(seasonId);
+        when(competitionRepository.findById(competitionId)).thenReturn(Optional.of(competition));
+        when(seasonRepository.existsById(seasonId)).thenReturn(true);
+        when(standingsRowRepository.findTable(competitionId, seasonId)).thenReturn(List.of());
+
+        String etag = standingsService.getStandings(competitionId, seasonId).etag();
+        Assertions.assertEquals(etag, standingsService.getStandings(competitionId, seasonId).etag());
+        verify(standingsRowRepository, times(1)).findTable(competitionId, seasonId);
 
-        Fixture finishedFixture = new Fixture();
-        finishedFixture.setHomeTeam(home);
-        finishedFixture.setAwayTeam(away);
-        finishedFixture.setStatus(MatchStatus.FINISHED);
-        finishedFixture.setHomeScore(2);
-        finishedFixture.setAwayScore(1);
+        standingsService.applyResultChange(null, new FixtureResult(competitionId, seasonId,
+                UUID.randomUUID(), UUID.randomUUID(), 1, 0));
 
-        Fixture pendingFixture = new Fixture();
-        pendingFixture.setHomeTeam(home);
-        pendingFixture.setAwayTeam(away);
-        pendingFixture.setStatus(MatchStatus.SCHEDULED);
+        Assertions.assertNotEquals(etag, standingsService.getStandings(competitionId, seasonId).etag());
+        verify(standingsRowRepository, times(2)).findTable(competitionId, seasonId);
+        StandingsDto.CacheStats stats = standingsService.cacheStats();
+        Assertions.assertEquals(1, stats.hits());
+        Assertions.assertEquals(2, stats.misses());
+    }
 
+    @Test
+    void teamWritesAndDeletesMoveTheTableVersionForward() {
+        UUID competitionId = UUID.randomUUID();
+        UUID seasonId = UUID.randomUUID();
+        Competition competition = new Competition();
+        competition.setId(competitionId);
         when(competitionRepository.findById(competitionId)).thenReturn(Optional.of(competition));
-        when(seasonRepository.findById(seasonId)).thenReturn(Optional.of(season));
-        when(fixtureRepository.filterFixtures(competitionId, seasonId, null, null, null))
-                .thenReturn(List.of(finishedFixture, pendingFixture));
+        when(seasonRepository.existsById(seasonId)).thenReturn(true);
+        when(standingsRowRepository.findTable(competitionId, seasonId)).thenReturn(List.of());
 
-        StandingsDto.StandingsResponse response = standingsService.getStandings(competitionId, seasonId);
+        String etag = standingsService.getStandings(competitionId, seasonId).etag();
+        standingsService.invalidateAll();
+        String renamed = standingsService.getStandings(competitionId, seasonId).etag();
+        Assertions.assertNotEquals(etag, renamed);
 
-        StandingsDto.TeamStanding homeRow = response.table().stream()
-                .filter(row -> row.teamId().equals(home.getId()))
-                .findFirst()
-                .orElseThrow();
-        StandingsDto.TeamStanding awayRow = response.table().stream()
-                .filter(row -> row.teamId().equals(away.getId()))
-                .findFirst()
-                .orElseThrow();
+        standingsService.seasonDeleted(UUID.randomUUID());
+        Assertions.assertNotEquals(renamed, standingsService.getStandings(competitionId, seasonId).etag());
+        verify(standingsRowRepository, times(3)).findTable(competitionId, seasonId);
 
-        Assertions.assertEquals(3, homeRow.points());
-        Assertions.assertEquals(0, awayRow.points());
-        Assertions.assertEquals(2, homeRow.goalsFor());
-        Assertions.assertEquals(1, awayRow.goalsFor());
+        standingsService.competitionDeleted(competitionId);
+        Assertions.assertEquals(0, standingsService.cacheStats().size());
+    }
+
+    @Test
+    void applyResultChangeMovesTableByDelta() {
+        UUID competitionId = UUID.randomUUID();
+        UUID seasonId = UUID.randomUUID();
+        UUID homeId = UUID.randomUUID();
+        UUID awayId = UUID.randomUUID();
+        FixtureResult draw = new FixtureResult(competitionId, seasonId, homeId, awayId, 1, 1);
+        FixtureResult homeWin = new FixtureResult(competitionId, seasonId, homeId, awayId, 2, 1);
+
+        standingsService.applyResultChange(draw, homeWin);
+
+        verify(standingsRowRepository).applyDelta(competitionId, seasonId, homeId, -1, 0, -1, 0, -1, -1, -1);
+        verify(standingsRowRepository).applyDelta(competitionId, seasonId, awayId, -1, 0, -1, 0, -1, -1, -1);
+        verify(standingsRowRepository).applyDelta(competitionId, seasonId, homeId, 1, 1, 0, 0, 2, 1, 3);
+        verify(standingsRowRepository).applyDelta(competitionId, seasonId, awayId, 1, 0, 0, 1, 1, 2, 0);
+    }
+
+    @Test
+    void applyResultChangeIgnoresUnchangedResult() {
+        FixtureResult result = new FixtureResult(UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID(), 0, 0);
+
+        standingsService.applyResultChange(result, result);
+        standingsService.applyResultChange(null, null);
+
+        verify(standingsRowRepository, never()).applyDelta(any(), any(), any(),
+                anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
     }
 
     @Test
@@ -98,4 +156,32 @@ class StandingsServiceTest {
         Assertions.assertThrows(NotFoundException.class,
                 () -> standingsService.getStandings(competitionId, UUID.randomUUID()));
     }
+
+    private static Team team(String name) {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        team.setName(name);
+        return team;
+    }
+
+    private static StandingsRow row(Team team, int played, int won, int drawn, int lost,
+                                    int goalsFor, int goalsAgainst, int points) {
+        StandingsRow row = new StandingsRow();
+        row.setTeam(team);
+        row.setPlayed(played);
+        row.setWon(won);
+        row.setDrawn(drawn);
+        row.setLost(lost);
+        row.setGoalsFor(goalsFor);
+        row.setGoalsAgainst(goalsAgainst);
+        row.setPoints(points);
+        return row;
+    }
+
+    private static StandingsDto.TeamStanding find(StandingsDto.StandingsResponse response, Team team) {
+        return response.table().stream()
+                .filter(row -> row.teamId().equals(team.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
 }
@@ -5,9 +5,11 @@ import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 class SubscriptionServiceTest {
@@ -40,11 +42,63 @@ class SubscriptionServiceTest {
         InvoiceRepository invoices = mock(InvoiceRepository.class);
         SubscriptionService service = new SubscriptionService(plans, subs, payments, invoices, new MockPaymentProvider());
 
+        UUID id = UUID.randomUUID();
+        List<Object[]> rows = List.<Object[]>of(new Object[]{id, 70, 10});
+        when(subs.riskScores(any(), eq(0), eq(50), eq(100L))).thenReturn(rows);
+
+        List<RiskItem> risk = service.riskScores(2, 50, 0);
+        assertEquals(List.of(new RiskItem(id, 70, 10)), risk);
+        verify(subs, never()).findAll();
+        verify(invoices, never()).countByStatus(any());
+    }
+
+    @Test
+    void verifyPaymentMovesRevenueRollupToNewMonth() {
+        SubscriptionPlanRepository plans = mock(SubscriptionPlanRepository.class);
+        SubscriptionRepository subs = mock(SubscriptionRepository.class);
+        PaymentRepository payments = mock(PaymentRepository.class);
+        InvoiceRepository invoices = mock(InvoiceRepository.class);
+        SubscriptionService service = new SubscriptionService(plans, subs, payments, invoices, new MockPaymentProvider());
+
         Subscription s = new Subscription();
-        s.setEndDate(LocalDate.now().minusDays(10));
-        when(subs.findAll()).thenReturn(List.of(s));
-        when(invoices.countByStatus(InvoiceStatus.OVERDUE)).thenReturn(1L);
+        UUID subscriberId = UUID.randomUUID();
+        s.setSubscriberId(subscriberId);
+        Payment payment = new Payment();
+        payment.setSubscription(s); payment.setAmount(BigDecimal.TEN); payment.setStatus(PaymentStatus.PAID);
+        OffsetDateTime previousPaidAt = OffsetDateTime.now().minusMonths(2);
+        payment.setPaidAt(previousPaidAt);
+        UUID paymentId = UUID.randomUUID();
+        when(payments.findByIdForUpdate(paymentId)).thenReturn(Optional.of(payment));
+
+        service.verifyPayment(paymentId);
+
+        verify(payments).addToMonthlyRollup(previousPaidAt, subscriberId, BigDecimal.TEN.negate(), -1);
+        verify(payments).addToMonthlyRollup(payment.getPaidAt(), subscriberId, BigDecimal.TEN, 1);
+    }
+
+    @Test
+    void refreshStatusesUpdatesInChunksAndReportsChangedIds() {
+        SubscriptionPlanRepository plans = mock(SubscriptionPlanRepository.class);
+        SubscriptionRepository subs = mock(SubscriptionRepository.class);
+        PaymentRepository payments = mock(PaymentRepository.class);
+        InvoiceRepository invoices = mock(InvoiceRepository.class);
+        SubscriptionService service = new SubscriptionService(plans, subs, payments, invoices, new MockPaymentProvider());
+
+        List<UUID> fullChunk = Stream.generate(UUID::randomUUID).limit(500).toList();
+        UUID lastSuspended = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        when(subs.countLapsed(any())).thenReturn(600L);
+        when(subs.suspendLapsedChunk(any(), eq(500))).thenReturn(fullChunk, List.of(lastSuspended));
+        when(subs.expireLapsedChunk(any(), eq(500))).thenReturn(List.of(expired));
+
+        StatusRefreshResult result = service.refreshStatuses();
 
-        assertEquals(1, service.riskScores().size());
+        assertEquals(600L, result.rowsScanned());
+        assertEquals(502L, result.rowsChanged());
+        assertEquals(501, result.suspendedIds().size());
+        assertEquals(List.of(expired), result.expiredIds());
+        verify(subs, times(2)).suspendLapsedChunk(any(), eq(500));
+        verify(subs, never()).saveAll(any());
+        assertEquals(result, service.lastStatusRefresh());
     }
 }
@@ -3,6 +3,7 @@ package com.sportsms.team;
 import com.sportsms.club.Club;
 import com.sportsms.club.ClubRepository;
 import com.sportsms.common.NotFoundException;
+import com.sportsms.standings.StandingsService;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Assertions;
@@ -13,6 +14,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +26,9 @@ class TeamServiceTest {
     @Mock
     private ClubRepository clubRepository;
 
+    @Mock
+    private StandingsService standingsService;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -67,4 +73,17 @@ class TeamServiceTest {
 
         Assertions.assertThrows(NotFoundException.class, () -> teamService.delete(teamId));
     }
+
+    @Test
+    void updateAndDeleteInvalidateStandings() {
+        UUID teamId = UUID.randomUUID();
+        when(teamRepository.findById(teamId)).thenReturn(Optional.of(new Team()));
+        when(teamRepository.save(any(Team.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(teamRepository.existsById(teamId)).thenReturn(true);
+
+        teamService.update(teamId, new TeamDto.TeamRequest("Renamed", null, "Coach", "Ground", null));
+        teamService.delete(teamId);
+
+        verify(standingsService, times(2)).invalidateAll();
+    }
 }
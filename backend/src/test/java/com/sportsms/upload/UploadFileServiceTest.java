@@ -0,0 +1,122 @@
+package com.sportsms.upload;
+
+import com.sportsms.common.NotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class UploadFileServiceTest {
+    private static final String HASH = "a".repeat(64);
+    private static final String NAME = HASH + ".png";
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadServingStats stats;
+    private UploadFileService uploadFileService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(uploadDir.resolve(NAME), "0123456789", StandardCharsets.US_ASCII);
+        stats = new UploadServingStats();
+        uploadFileService = new UploadFileService(uploadDir.toString(), 1024, stats);
+    }
+
+    @Test
+    void serveSendsWholeFileWithImmutableCachingAndHashEtag() throws IOException {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/uploads/" + NAME));
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals("0123456789", response.getContentAsString());
+        Assertions.assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("max-age=31536000, public, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        Assertions.assertEquals("image/png", response.getContentType());
+        Assertions.assertEquals(10, stats.snapshot().bytesServed());
+    }
+
+    @Test
+    void serveAnswersSingleRangeWithPartialContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = serve(request);
+
+        Assertions.assertEquals(206, response.getStatus());
+        Assertions.assertEquals("2345", response.getContentAsString());
+        Assertions.assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        Assertions.assertEquals(1, stats.snapshot().partialRequests());
+    }
+
+    @Test
+    void serveRejectsRangePastEndOfFile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-");
+
+        MockHttpServletResponse response = serve(request);
+
+        Assertions.assertEquals(416, response.getStatus());
+        Assertions.assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void serveReturnsNotModifiedForMatchingEtag() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + NAME);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+
+        MockHttpServletResponse response = serve(request);
+
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+        Assertions.assertEquals(1, stats.snapshot().notModified());
+    }
+
+    @Test
+    void serveHandsLargeFilesToTomcatSendfile() throws IOException {
+        String large = HASH.replace('a', 'b') + "-w160.jpg";
+        Files.write(uploadDir.resolve(large), new byte[4096]);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + large);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        uploadFileService.serve(large, request, response);
+
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+        Assertions.assertEquals(4096L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        Assertions.assertEquals(4096, response.getContentLengthLong());
+        Assertions.assertEquals(1, stats.snapshot().sendfileRequests());
+    }
+
+    @Test
+    void serveHashesLegacyFilesForEtag() throws IOException {
+        String legacy = "123e4567-e89b-12d3-a456-426614174000.jpeg";
+        Files.writeString(uploadDir.resolve(legacy), "abc", StandardCharsets.US_ASCII);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        uploadFileService.serve(legacy, new MockHttpServletRequest("GET", "/uploads/" + legacy), response);
+
+        Assertions.assertEquals("\"ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad\"",
+                response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void serveRefusesNamesUploadServiceDoesNotProduce() {
+        Assertions.assertThrows(NotFoundException.class, () -> uploadFileService.serve("../secret.png",
+                new MockHttpServletRequest(), new MockHttpServletResponse()));
+        Assertions.assertThrows(NotFoundException.class, () -> uploadFileService.serve(".upload-1.part",
+                new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        uploadFileService.serve(NAME, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sportsms.upload;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+class UploadServiceTest {
+    @TempDir
+    Path uploadDir;
+
+    private UploadService uploadService;
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new UploadService(uploadDir.toString(), "http://cdn/uploads", new int[] {160, 480, 1200},
+                1_000_000,
+                new ThumbnailWorker(Runnable::run));
+    }
+
+    @Test
+    void uploadStoresByContentHashAndRendersSmallerVariants() throws IOException {
+        UploadService.UploadResponse response = uploadService.upload(png("cover.png", 600, 300));
+
+        Assertions.assertEquals(response.contentHash() + ".png", response.filename());
+        Assertions.assertEquals("http://cdn/uploads/" + response.filename(), response.url());
+        Assertions.assertFalse(response.deduplicated());
+        Assertions.assertEquals(2, response.variants().size());
+        Assertions.assertEquals("http://cdn/uploads/" + response.contentHash() + "-w160.png",
+                response.variants().get(160));
+
+        BufferedImage thumbnail = ImageIO.read(uploadDir.resolve(response.contentHash() + "-w160.png").toFile());
+        Assertions.assertEquals(160, thumbnail.getWidth());
+        Assertions.assertEquals(80, thumbnail.getHeight());
+        Assertions.assertEquals(480, ImageIO.read(uploadDir.resolve(response.contentHash() + "-w480.png").toFile())
+                .getWidth());
+    }
+
+    @Test
+    void uploadingSameBytesTwiceReusesStoredFile() throws IOException {
+        MockMultipartFile file = png("a.png", 200, 100);
+        UploadService.UploadResponse first = uploadService.upload(file);
+        UploadService.UploadResponse second = uploadService.upload(
+                new MockMultipartFile("file", "b.png", "image/png", file.getBytes()));
+
+        Assertions.assertEquals(first.filename(), second.filename());
+        Assertions.assertTrue(second.deduplicated());
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            // The original plus its single 160px variant; no temporary files are left behind.
+            Assertions.assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void imageOverThePixelBudgetGetsNoVariants() throws IOException {
+        UploadService.UploadResponse response = uploadService.upload(png("banner.png", 2000, 600));
+
+        Assertions.assertEquals(Map.of(), response.variants());
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void wideSourceIsDecodedSubsampledAndKeepsItsVariantWidth() throws IOException {
+        UploadService.UploadResponse response = uploadService.upload(png("strip.png", 6000, 150));
+
+        Assertions.assertEquals(3, response.variants().size());
+        BufferedImage thumbnail = ImageIO.read(uploadDir.resolve(response.contentHash() + "-w160.png").toFile());
+        Assertions.assertEquals(160, thumbnail.getWidth());
+        Assertions.assertEquals(4, thumbnail.getHeight());
+    }
+
+    @Test
+    void uploadRejectsUnsupportedContentType() {
+        MockMultipartFile file = new MockMultipartFile("file", "doc.pdf", "application/pdf", new byte[] {1, 2, 3});
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> uploadService.upload(file));
+    }
+
+    private static MockMultipartFile png(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return new MockMultipartFile("file", name, "image/png", bytes.toByteArray());
+    }
+}
@@ -0,0 +1,111 @@
+package com.sportsms.user;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupCacheTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void servesRepeatedLookupsFromCacheUntilEvicted() {
+        User user = user("coach@example.com", Role.COACH);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        UserLookupCache cache = new UserLookupCache(userRepository, 16, Duration.ofMinutes(5), new MutableClock(NOW));
+
+        UserLookupCache.CachedUser first = cache.findByEmail(user.getEmail()).orElseThrow();
+        cache.findByEmail(user.getEmail());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+        Assertions.assertEquals(user.getId(), first.toUser().getId());
+        Assertions.assertEquals(Set.of(Role.COACH), first.toUser().getRoles());
+
+        cache.evict(user.getId());
+        cache.findByEmail(user.getEmail());
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void reloadsAfterTtlAndDoesNotCacheMissingUsers() {
+        User user = user("viewer@example.com", Role.VIEWER);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+        MutableClock clock = new MutableClock(NOW);
+        UserLookupCache cache = new UserLookupCache(userRepository, 16, Duration.ofMinutes(5), clock);
+
+        cache.findByEmail(user.getEmail());
+        clock.now = NOW.plus(Duration.ofMinutes(5));
+        cache.findByEmail(user.getEmail());
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+
+        Assertions.assertTrue(cache.findByEmail("missing@example.com").isEmpty());
+        Assertions.assertTrue(cache.findByEmail("missing@example.com").isEmpty());
+        verify(userRepository, times(2)).findByEmail("missing@example.com");
+    }
+
+    @Test
+    void evictionDuringLoadKeepsTheLoadedRowOutOfTheCache() {
+        User user = user("coach@example.com", Role.COACH);
+        UserLookupCache cache = new UserLookupCache(userRepository, 16, Duration.ofMinutes(5), new MutableClock(NOW));
+        when(userRepository.findByEmail(user.getEmail())).thenAnswer(invocation -> {
+            // UserService.updateRoles commits and evicts while this (now stale) row is in flight.
+            cache.evict(user.getId());
+            return Optional.of(user);
+        }).thenReturn(Optional.of(user));
+
+        Assertions.assertTrue(cache.findByEmail(user.getEmail()).isPresent());
+        cache.findByEmail(user.getEmail());
+        cache.findByEmail(user.getEmail());
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+    }
+
+    private static User user(String email, Role role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setFullName("Test User");
+        user.setPassword("{bcrypt}hash");
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +24,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserLookupCache userLookupCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -57,4 +61,18 @@ class UserServiceTest {
         Assertions.assertThrows(NotFoundException.class,
                 () -> userService.updateRoles(userId, new UserDto.UpdateRolesRequest(Set.of(Role.COACH))));
     }
+
+    @Test
+    void updateRolesEvictsCachedUser() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("coach@example.com");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.updateRoles(userId, new UserDto.UpdateRolesRequest(Set.of(Role.COACH)));
+
+        verify(userLookupCache).evict("coach@example.com");
+    }
 }
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Posts chat messages concurrently into one fresh room and reports accepted messages/s, status codes,
+# latency percentiles and what the write-behind writer persisted, read from /api/chat/stats.
+# Usage: qa/chat-throughput.sh [messages] [concurrency]
+# Env: BASE_URL (default http://localhost:8080), LOGIN_EMAIL, LOGIN_PASSWORD (an admin), DATABASE_URL (optional)
+set -euo pipefail
+
+MESSAGES=${1:-5000}
+CONCURRENCY=${2:-64}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+LOGIN_EMAIL=${LOGIN_EMAIL:-admin@sportsms.com}
+LOGIN_PASSWORD=${LOGIN_PASSWORD:-Admin123!}
+
+token=$(curl -s -H 'Content-Type: application/json' \
+    -d "$(printf '{"email":"%s","password":"%s"}' "$LOGIN_EMAIL" "$LOGIN_PASSWORD")" \
+    "$BASE_URL/api/auth/login" | grep -o '"accessToken":"[^"]*"' | cut -d'"' -f4)
+auth="Authorization: Bearer $token"
+room_id=$(curl -s -H "$auth" -H 'Content-Type: application/json' -d '{"type":"GROUP"}' \
+    "$BASE_URL/api/chat/rooms" | grep -o '"id":"[^"]*"' | head -1 | cut -d'"' -f4)
+echo "room: $room_id"
+
+stat() {
+    curl -s -H "$auth" "$BASE_URL/api/chat/stats" | grep -o "\"$1\":[0-9.]*" | cut -d: -f2
+}
+
+results=$(mktemp)
+trap 'rm -f "$results"' EXIT
+
+persisted_before=$(stat persisted)
+start=$(date +%s.%N)
+seq "$MESSAGES" | xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null -w '%{http_code} %{time_total}\n' \
+    -H "$auth" -H 'Content-Type: application/json' -d '{"content":"load message {}"}' \
+    "$BASE_URL/api/chat/rooms/$room_id/messages" >> "$results"
+end=$(date +%s.%N)
+
+# 202 means queued; wait for the writer to catch up before reading what it stored.
+accepted=$(grep -c '^202 ' "$results" || true)
+for _ in $(seq 50); do
+    [ "$(stat queueDepth)" = "0" ] && break
+    sleep 0.2
+done
+drained=$(date +%s.%N)
+
+awk '{ print $1 }' "$results" | sort | uniq -c | awk '{ printf "status %s: %d\n", $2, $1 }'
+sort -n -k2 "$results" | awk -v elapsed="$(echo "$end - $start" | bc)" -v accepted="$accepted" '
+    { latency[NR] = $2 }
+    END {
+        printf "elapsed: %.2fs, accepted messages/s: %.1f\n", elapsed, accepted / elapsed
+        printf "latency p50: %.0fms p95: %.0fms p99: %.0fms max: %.0fms\n",
+            latency[int(NR * 0.50) + 1] * 1000, latency[int(NR * 0.95) + 1] * 1000,
+            latency[int(NR * 0.99) + 1] * 1000, latency[NR] * 1000
+    }'
+persisted=$(( $(stat persisted) - persisted_before ))
+awk -v persisted="$persisted" -v elapsed="$(echo "$drained - $start" | bc)" 'BEGIN {
+    printf "persisted: %d (%.1f messages/s including drain)\n", persisted, persisted / elapsed }'
+echo "average batch size: $(stat averageBatchSize), failed so far: $(stat failed)"
+
+if [ -n "${DATABASE_URL:-}" ]; then
+    psql "$DATABASE_URL" -At -c "select 'rows in room: ' || count(*) from chat_messages where room_id = '$room_id'"
+fi
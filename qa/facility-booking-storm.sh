@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Fires concurrent, deliberately overlapping bookings at one fresh facility and reports status codes,
+# latency percentiles and, when DATABASE_URL is set, how many overlapping live bookings got through.
+# Usage: qa/facility-booking-storm.sh [requests] [concurrency] [slots]
+# Env: BASE_URL (default http://localhost:8080), LOGIN_EMAIL, LOGIN_PASSWORD, DATABASE_URL (optional)
+set -euo pipefail
+
+REQUESTS=${1:-500}
+CONCURRENCY=${2:-50}
+SLOTS=${3:-10}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+LOGIN_EMAIL=${LOGIN_EMAIL:-admin@sportsms.com}
+LOGIN_PASSWORD=${LOGIN_PASSWORD:-Admin123!}
+
+token=$(curl -s -H 'Content-Type: application/json' \
+    -d "$(printf '{"email":"%s","password":"%s"}' "$LOGIN_EMAIL" "$LOGIN_PASSWORD")" \
+    "$BASE_URL/api/auth/login" | grep -o '"accessToken":"[^"]*"' | cut -d'"' -f4)
+auth="Authorization: Bearer $token"
+user_id=$(curl -s -H "$auth" "$BASE_URL/api/auth/me" | grep -o '"id":"[^"]*"' | head -1 | cut -d'"' -f4)
+facility_id=$(curl -s -H "$auth" -H 'Content-Type: application/json' \
+    -d "$(printf '{"name":"Booking storm %s","pricePerHour":10,"status":"ACTIVE"}' "$(date +%s)")" \
+    "$BASE_URL/api/facilities" | grep -o '"id":"[^"]*"' | head -1 | cut -d'"' -f4)
+echo "facility: $facility_id"
+
+payloads=$(mktemp)
+results=$(mktemp)
+trap 'rm -f "$payloads" "$results"' EXIT
+
+# Each request asks for one of SLOTS hour-long slots tomorrow, half of them shifted by 30 minutes,
+# so every request collides with several others.
+base=$(( ($(date +%s) / 86400 + 1) * 86400 ))
+for _ in $(seq "$REQUESTS"); do
+    from=$(( base + (RANDOM % SLOTS) * 3600 + (RANDOM % 2) * 1800 ))
+    printf '{"facilityId":"%s","requestedByUserId":"%s","startDateTime":"%s","endDateTime":"%s","paymentRequired":false}\n' \
+        "$facility_id" "$user_id" "$(date -u -d "@$from" +%Y-%m-%dT%H:%M:%SZ)" \
+        "$(date -u -d "@$(( from + 3600 ))" +%Y-%m-%dT%H:%M:%SZ)" >> "$payloads"
+done
+
+start=$(date +%s.%N)
+xargs -d '\n' -P "$CONCURRENCY" -I{} curl -s -o /dev/null -w '%{http_code} %{time_total}\n' \
+    -H "$auth" -H 'Content-Type: application/json' -d '{}' "$BASE_URL/api/facilities/bookings" \
+    < "$payloads" >> "$results"
+end=$(date +%s.%N)
+
+awk '{ print $1 }' "$results" | sort | uniq -c | awk '{ printf "status %s: %d\n", $2, $1 }'
+sort -n -k2 "$results" | awk -v elapsed="$(echo "$end - $start" | bc)" '
+    { latency[NR] = $2 }
+    END {
+        printf "elapsed: %.2fs, requests/s: %.1f\n", elapsed, NR / elapsed
+        printf "latency p50: %.0fms p95: %.0fms p99: %.0fms max: %.0fms\n",
+            latency[int(NR * 0.50) + 1] * 1000, latency[int(NR * 0.95) + 1] * 1000,
+            latency[int(NR * 0.99) + 1] * 1000, latency[NR] * 1000
+    }'
+
+if [ -n "${DATABASE_URL:-}" ]; then
+    psql "$DATABASE_URL" -At -c "
+        select 'overlapping live bookings: ' || count(*) from facility_bookings a
+        join facility_bookings b on b.facility_id = a.facility_id and b.id > a.id
+        where a.facility_id = '$facility_id'
+          and a.status in ('PENDING', 'APPROVED') and b.status in ('PENDING', 'APPROVED')
+          and a.start_date_time < b.end_date_time and b.start_date_time < a.end_date_time"
+fi
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Fires concurrent logins at the backend and reports throughput, overall and per hashing core.
+# Usage: qa/login-load.sh [requests] [concurrency]
+# Env: BASE_URL (default http://localhost:8080), LOGIN_EMAIL, LOGIN_PASSWORD, HASHING_CORES
+set -euo pipefail
+
+REQUESTS=${1:-200}
+CONCURRENCY=${2:-32}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+LOGIN_EMAIL=${LOGIN_EMAIL:-admin@sportsms.com}
+LOGIN_PASSWORD=${LOGIN_PASSWORD:-Admin123!}
+HASHING_CORES=${HASHING_CORES:-$(nproc)}
+
+payload=$(printf '{"email":"%s","password":"%s"}' "$LOGIN_EMAIL" "$LOGIN_PASSWORD")
+results=$(mktemp)
+trap 'rm -f "$results"' EXIT
+
+start=$(date +%s.%N)
+seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null -w '%{http_code} %{time_total}\n' \
+    -H 'Content-Type: application/json' -d "$payload" "$BASE_URL/api/auth/login" >> "$results"
+end=$(date +%s.%N)
+
+awk -v elapsed="$(echo "$end - $start" | bc)" -v cores="$HASHING_CORES" '
+    { codes[$1]++; if ($1 == 200) { ok++; total += $2 } }
+    END {
+        printf "elapsed: %.2fs\n", elapsed
+        for (code in codes) printf "status %s: %d\n", code, codes[code]
+        if (ok > 0) {
+            printf "logins/s: %.1f (%.1f per hashing core)\n", ok / elapsed, ok / elapsed / cores
+            printf "mean latency: %.0fms\n", total / ok * 1000
+        }
+    }' "$results"
@@ -0,0 +1,48 @@
+-- Compares the old ILIKE post search with the full-text search on a synthetic 500k-post corpus.
+-- Run against a scratch copy of the database (migrations applied):
+--   psql "$DATABASE_URL" -f qa/post-search-benchmark.sql
+-- Everything runs in one transaction that is rolled back at the end.
+\timing on
+BEGIN;
+
+INSERT INTO posts (title, content, status, created_at, updated_at)
+SELECT 'Match report ' || g || ' ' || (ARRAY['derby', 'final', 'friendly', 'cup tie', 'league'])[1 + g % 5],
+       repeat('The home side pressed high and the keeper made several saves. ', 20) ||
+       (ARRAY['A golden goal settled it.', 'Penalties decided it.', 'A late equaliser.', 'A comfortable win.'])[1 + g % 4],
+       CASE WHEN g % 10 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END,
+       now() - g * interval '1 minute',
+       now() - g * interval '1 minute'
+FROM generate_series(1, 500000) AS g;
+ANALYZE posts;
+
+-- Before: double ILIKE scan on title and content.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM posts p
+WHERE p.status = 'PUBLISHED'
+  AND (p.title ILIKE '%golden%' OR p.content ILIKE '%golden%')
+ORDER BY p.created_at DESC LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM posts p
+WHERE p.status = 'PUBLISHED'
+  AND (p.title ILIKE '%golden%' OR p.content ILIKE '%golden%');
+
+-- After: GIN full-text match with ranking, trigram fallback on the title.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM posts p
+WHERE p.status = 'PUBLISHED'
+  AND (p.search_vector @@ to_tsquery('english', 'golden:*') OR p.title ILIKE '%golden%')
+ORDER BY coalesce(ts_rank(p.search_vector, to_tsquery('english', 'golden:*')), 0) DESC, p.created_at DESC LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM posts p
+WHERE p.status = 'PUBLISHED'
+  AND (p.search_vector @@ to_tsquery('english', 'golden:*') OR p.title ILIKE '%golden%');
+
+-- Partial word inside the title only reachable through the trigram index.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM posts p
+WHERE p.status = 'PUBLISHED'
+  AND (p.search_vector @@ to_tsquery('english', 'erby:*') OR p.title ILIKE '%erby%');
+
+ROLLBACK;